@@ -68,6 +68,7 @@ find source/util/ -mindepth 1 -name *.java >> toinclude.txt
 find source/absbase/ -mindepth 1 -name *.java >> toinclude.txt
 find source/Year2021/ -mindepth 1 -name *.java >> toinclude.txt
 find source/AllDays.java >> toinclude.txt
+find source/SolverDaemon.java >> toinclude.txt
 
 # ---- Compile single file:
 # javac -cp run -d run source/Year2021/Day22.java
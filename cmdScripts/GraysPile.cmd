@@ -68,6 +68,7 @@ dir source\util\*.java /b /s >> toinclude.txt
 dir source\absbase\*.java /b /s >> toinclude.txt
 dir source\Year2021\*.java /b /s >> toinclude.txt
 dir source\AllDays.java /b /s >> toinclude.txt
+dir source\SolverDaemon.java /b /s >> toinclude.txt
 
 :: ---- Compile single file:
 :: javac -cp run -d run source/Year2021/Day22.java
@@ -1,10 +1,15 @@
 import base.*;
 import util.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
@@ -14,16 +19,23 @@ public class AllDays implements AllDaysI {
   private List<String> packageNames;  // plain names like ["Year2016", "Year2021"]
   private Set<Classes.YearPackage> yearPackages;
   private String[] dayArgs;
+  private int forks = 0;                // days solved at the same time in child JVMs, 0 for none
+  private List<String> jvmFlags = List.of();
+  private String sharedArchive;         // class data sharing archive of the child JVMs
+  private int prefetch = 2;             // days ahead the input files are read
 
   public static void main(String[] args) {
 
     AllDays allDays = new AllDays();
+    ResultCache.setEnabled(true);
     CommandLineOptions.handleAllDaysOptions(args, allDays);
 
     allDays.yearPackages = Classes.getYearPackagesOnClassPath();
     allDays.editYearPackages();
 
     allDays.fetchAndRun();
+    ResultCache.save();
+    BenchmarkHistory.save();
 
   }
 
@@ -76,6 +88,26 @@ public class AllDays implements AllDaysI {
                               .sorted()
                               .collect(Collectors.toList());
   }
+  public void setForks(int forks) {
+    if (forks < 0) {
+      throw new IllegalArgumentException("Cannot run " + forks + " forks");
+    }
+    this.forks = forks;
+  }
+  public void setPrefetch(int days) {
+    if (days < 0) {
+      throw new IllegalArgumentException("Cannot prefetch " + days + " days ahead");
+    }
+    this.prefetch = days;
+  }
+  public void setSharedArchive(String archive) {
+    this.sharedArchive = archive;
+  }
+  public void setJvmFlags(String flags) {
+    this.jvmFlags = Arrays.stream(flags.trim().split("\\s+"))
+                          .filter(flag -> !flag.isEmpty())
+                          .collect(Collectors.toList());
+  }
 
 
   // -----
@@ -92,6 +124,9 @@ public class AllDays implements AllDaysI {
         case JAR:
           base = Classes.classNamesAsStreamJar(packageName, yearPackage.getClassPath());
           break;
+        case INDEX:
+          base = Classes.classNamesAsStreamIndex(packageName);
+          break;
         case FILE:
           base = Classes.classNamesAsStreamFile(packageName);
       }
@@ -101,22 +136,74 @@ public class AllDays implements AllDaysI {
 
       Timers.TimeAccumulator totalTime = new Timers.TimeAccumulator();
 
-      base.map(fileName -> Classes.createClass(fileName, packageName, this.dayArgs))
-          .filter(dayX -> dayX != null)
-          .forEach(dayX -> runDay(dayX, totalTime));
+      Stream<DayI> days = base.map(fileName -> Classes.createClass(fileName, packageName, this.dayArgs))
+                              .filter(dayX -> dayX != null);
+      InputPrefetcher prefetcher = null;
+      if (this.forks > 0) {
+        runForked(days, totalTime);
+      } else {
+        prefetcher = new InputPrefetcher(days.collect(Collectors.toList()), this.prefetch);
+        try (InputPrefetcher solver = prefetcher) {
+          while (solver.hasNext()) {
+            runDay(solver, totalTime);
+          }
+        }
+      }
 
       Printers.printAllDayTotal(totalTime, this.printTime);
+      if (this.printTime && this.forks == 0) {  // the patterns of forked days are used by their own JVMs
+        Printers.printPatternStatistics("Total");
+        if (prefetcher != null) {
+          Printers.printPrefetchStatistics("Total", prefetcher);
+        }
+      }
+      Printers.printCacheStatistics();
     }
   }
 
 
   // -----
-  private void runDay(DayI dayI, Timers.TimeAccumulator accumulator) {
-      dayI.daySolver();
-      if (this.printTime) {
+  private void runDay(InputPrefetcher prefetcher, Timers.TimeAccumulator accumulator) {
+      int cacheHits = ResultCache.getHits();
+      DayI dayI = prefetcher.solveNext();  // its input was read while solving the days before it
+      boolean cached = ResultCache.getHits() != cacheHits;
+      if (!cached) {  // cached run times aren't new measurements
+        BenchmarkHistory.record(dayI, false);
+      }
+      printDay(dayI, cached ? null : accumulator);
+  }
+
+  // -----
+  private void runForked(Stream<DayI> days, Timers.TimeAccumulator accumulator) {
+    List<String> flags = new ArrayList<>(this.jvmFlags);
+    if (this.sharedArchive != null) {
+      flags.add("-XX:SharedArchiveFile=" + this.sharedArchive);
+      flags.add("-Xshare:auto");
+    }
+
+    ExecutorService pool = Executors.newFixedThreadPool(this.forks);
+    try {
+      List<Future<DayI>> futures = days.map(dayI -> pool.submit(() -> ForkRunner.solve(dayI, this.dayArgs, flags)))
+                                       .collect(Collectors.toList());
+      for (Future<DayI> future : futures) {
+        DayI dayI = future.get();  // in day order, as soon as it's done
+        BenchmarkHistory.record(dayI, true);
+        printDay(dayI, accumulator);
+      }
+    } catch (InterruptedException | ExecutionException ex) {
+      System.out.println("Forked run failed: " + ex);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  // ----- a null accumulator leaves the day out of the totals
+  private void printDay(DayI dayI, Timers.TimeAccumulator accumulator) {
+      if (this.printTime && accumulator != null) {
         accumulator.addTime(dayI);
       }
       Printers.printDayByDay(dayI, this.printTime);
+      Printers.flush();  // the day is printed, even if the output is asynchronous
   }
 
 }
@@ -0,0 +1,285 @@
+import base.*;
+import util.*;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+  Keeps the days loaded and warm in one JVM and solves them on request.
+
+  Listens on a local TCP port (loopback only). A client sends one request per line:
+
+    Year2021.Day1 all                  solves the default input, both parts
+    Year2021.Day1 2 input/Day1.txt     solves the given file, only part 2
+    Year2021.Day1 1 -                  solves the input lines that follow, up to a line with a single "."
+    list                               lists the days that can be solved
+    quit                               closes the connection
+    shutdown                           stops the daemon
+
+  Each answer is one JSON line per part, like the records of "-fmt json",
+  followed by an empty line. Errors are a {"error":"..."} line followed by an empty line.
+
+  Every request is solved by a new instance of its day, since the days keep their parsed
+  input in instance variables. The classes, and the JIT compiled code, are shared by all requests.
+  A request for part 1 or 2 only solves that part.
+
+  Each connection is handled by its own thread, and is closed after IDLE_TIMEOUT milli seconds
+  without a request, so an idle client doesn't keep the others waiting.
+  The requests are still solved one at a time, so timings aren't disturbed by other requests.
+
+  The solved parts are counted in SolverMetrics, which is registered as the MBean
+  "util:type=SolverMetrics" and written as Prometheus text with "-metrics <FILE>".
+*/
+
+public class SolverDaemon implements SolverDaemonI {
+
+  private static final int IDLE_TIMEOUT = 60000;  // milli seconds
+
+  private int port = 7821;
+  private int warmups = 1;
+  private List<String> packageNames;  // plain names like ["Year2016", "Year2021"]
+  private Map<String, String[]> days = new LinkedHashMap<>();  // "Year2021.Day1" -> ["Year2021", "Day1"]
+  private volatile boolean running = true;
+  private ServerSocket server;
+  private final Object solving = new Object();  // held while a request is solved
+
+  public static void main(String[] args) {
+
+    SolverDaemon daemon = new SolverDaemon();
+    CommandLineOptions.handleDaemonOptions(args, daemon);
+    SolverMetrics.registerMBean();
+
+    daemon.discoverDays();
+    daemon.warmUp();
+    SolverMetrics.reset();  // only count the requests
+    daemon.serve();
+
+  }
+
+
+  // ---- Setters
+  public void setPort(int port) {
+    this.port = port;
+  }
+  public void setWarmups(int warmups) {
+    this.warmups = warmups;
+  }
+  public void setPackageNames(String years) { // from CommandLineOptions
+    this.packageNames = Arrays.stream(years.split(","))
+                              .map(year -> "Year" + year.trim())
+                              .sorted()
+                              .collect(Collectors.toList());
+  }
+
+
+  // -----
+  private void discoverDays() {
+    for (Classes.YearPackage yearPackage : Classes.getYearPackagesOnClassPath()) {
+
+      String packageName = yearPackage.getPackageName();
+      if (this.packageNames != null && !this.packageNames.contains(packageName)) {
+        continue;
+      }
+
+      Stream<String> base = null;
+      switch (yearPackage.getContainerType()) {
+        case JAR:
+          base = Classes.classNamesAsStreamJar(packageName, yearPackage.getClassPath());
+          break;
+        case INDEX:
+          base = Classes.classNamesAsStreamIndex(packageName);
+          break;
+        case FILE:
+          base = Classes.classNamesAsStreamFile(packageName);
+          break;
+        default:
+          continue;
+      }
+
+      base.forEach(className -> this.days.put(packageName + "." + className,
+                                              new String[]{packageName, className}));
+    }
+  }
+
+  // -----
+  private void warmUp() {
+    for (int k = 0; k < this.warmups; k++) {
+      for (String[] day : this.days.values()) {
+        DayI dayI = Classes.createClass(day[1], day[0], new String[0]);
+        if (dayI != null) {
+          dayI.daySolver();
+        }
+      }
+    }
+    System.out.println("SolverDaemon warmed up " + this.days.size() + " days "
+                       + this.warmups + " times, listening on port " + this.port);
+  }
+
+  // -----
+  private void serve() {
+    ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "SolverDaemon-connection");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    try (ServerSocket server = new ServerSocket(this.port, 50, InetAddress.getLoopbackAddress())) {
+      this.server = server;
+      while (this.running) {
+        Socket socket = server.accept();
+        connections.execute(() -> connect(socket));
+      }
+    } catch (SocketException ex) {
+      if (this.running) {  // otherwise closed by "shutdown"
+        ex.printStackTrace();
+        System.exit(-1);
+      }
+    } catch (IOException ex) {
+      ex.printStackTrace();
+      System.exit(-1);
+    } finally {
+      connections.shutdownNow();
+    }
+  }
+
+  // -----
+  private void connect(Socket socket) {
+    try (socket) {
+      socket.setSoTimeout(IDLE_TIMEOUT);
+      handle(socket);
+    } catch (SocketTimeoutException ex) {
+      System.out.println("Connection closed after " + IDLE_TIMEOUT + " milli seconds without a request");
+    } catch (IOException ex) {
+      System.out.println("Connection failed: " + ex.getMessage());
+    }
+  }
+
+  // -----
+  private void shutdown() throws IOException {
+    this.running = false;
+    this.server.close();  // stops waiting for the next connection
+  }
+
+  // -----
+  private void handle(Socket socket) throws IOException {
+    BufferedReader in = new BufferedReader(
+                          new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    PrintWriter out = new PrintWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+
+    String line;
+    while ((line = in.readLine()) != null) {
+      String[] request = line.trim().split("\\s+", 3);
+
+      switch (request[0]) {
+        case ""         : continue;
+        case "quit"     : return;
+        case "shutdown" : shutdown();
+                          return;
+        case "list"     : this.days.keySet().forEach(out::println);
+                          break;
+        default         : solve(request, in, out);
+      }
+      out.println();
+      out.flush();
+    }
+  }
+
+  // -----
+  private void solve(String[] request, BufferedReader in, PrintWriter out) throws IOException {
+    String[] day = this.days.get(request[0]);
+    String part = request.length > 1 ? request[1] : "all";
+    String path = request.length > 2 ? request[2] : null;
+
+    String inline = null;
+    if ("-".equals(path)) {
+      inline = readInline(in);
+    }
+
+    if (day == null) {
+      out.println(error("Unknown day " + request[0] + ". Use \"list\" to see the days"));
+      return;
+    }
+    if (!"1".equals(part) && !"2".equals(part) && !"all".equals(part)) {
+      out.println(error("Unknown part " + part + ". Use 1, 2 or all"));
+      return;
+    }
+
+    String[] input = new String[]{inline};
+    if (inline == null && path != null) {
+      DataReader.readFile(path, (text) -> input[0] = text);
+    }
+
+    // a new instance for every request. Without an input it reads the default input,
+    // or reports the file error in its result
+    String[] dayArgs = input[0] != null || path == null ? new String[0] : new String[]{"-f", path};
+    DayI dayI = Classes.createClass(day[1], day[0], dayArgs);
+    if (dayI == null) {
+      out.println(error("Cannot create " + request[0]));
+      return;
+    }
+
+    dayI.setPart("all".equals(part) ? 0 : Integer.parseInt(part));
+    try {
+      synchronized (this.solving) {
+        if (input[0] != null) {
+          dayI.daySolver(input[0]);
+        } else {
+          dayI.daySolver();
+        }
+      }
+    } catch (RuntimeException | AssertionError ex) {
+      out.println(error(request[0] + " failed: " + ex));
+      return;
+    }
+
+    boolean answered = false;
+    for (String record : Printers.toRecords(Printers.Format.JSON, "", dayI)) {
+      if ("all".equals(part) || record.contains("\"part\":" + part + ",")) {
+        out.println(record);
+        answered = true;
+      }
+    }
+    if (!answered) {
+      out.println(error(request[0] + " has no result for part " + part + ": " + dayI.getResultPart2()));
+    }
+  }
+
+  // -----
+  private String readInline(BufferedReader in) throws IOException {
+    StringBuilder input = new StringBuilder();
+    String line;
+    while ((line = in.readLine()) != null && !".".equals(line)) {
+      if (input.length() > 0) {
+        input.append('\n');
+      }
+      input.append(line);
+    }
+    return input.toString();
+  }
+
+  // -----
+  private String error(String message) {
+    return "{\"error\":\"" + message.replace("\\", "\\\\")
+                                    .replace("\"", "\\\"")
+                                    .replace("\n", "\\n") + "\"}";
+  }
+
+}
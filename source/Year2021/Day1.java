@@ -3,16 +3,22 @@ package Year2021;
 /*
   There's not really anything to this except noticing that for part 2:
     (d+c+b) - (c+b+a) = d + c + b - c - b - a = d - a
+
+  The "Tokenizer" alternatives read all the depths in one scan with util.Tokenizer,
+  instead of splitting on newlines and parsing each line.
 */
 
+import java.util.Map;
 import java.util.stream.IntStream;
 
 import absbase.DayX;
 import util.Result;
+import util.Tokenizer;
 
 public class Day1 extends DayX {
 
   private String[] splitInput;
+  private int[] depths;           // used by the Tokenizer alternatives
 
   // -----
   public static void main(String[] args){
@@ -21,6 +27,14 @@ public class Day1 extends DayX {
 
   public Day1(String[] args) {
     super(args);
+
+    this.alternatives =
+      Map.of("Split",     (i) -> {setup(i);          return solve(i);},
+             "Tokenizer", (i) -> {setupTokenizer(i); return solveDepths();});
+
+    this.alternatives2 =
+      Map.of("Split",     (i) -> {setup(i);          return solvePart2(i);},
+             "Tokenizer", (i) -> {setupTokenizer(i); return solvePart2Depths();});
   }
 
   // -----
@@ -28,6 +42,11 @@ public class Day1 extends DayX {
     this.splitInput = input.split("\\R");     // Split on newlines
   }
 
+  // -----
+  private void setupTokenizer(String input) {
+    this.depths = Tokenizer.ints(input);
+  }
+
   // -----
   public Result solve(String input) {
     if (this.splitInput == null || this.splitInput.length == 0) {
@@ -66,4 +85,26 @@ public class Day1 extends DayX {
                       .filter(i -> i > 0)
                       .count());
   }
+
+  // -----
+  private Result solveDepths() {
+    int counter = 0;
+    for (int i = 1; i < this.depths.length; i++) {
+      if (this.depths[i] > this.depths[i - 1]) {
+        counter++;
+      }
+    }
+    return Result.createResult(counter);
+  }
+
+  // -----
+  private Result solvePart2Depths() {
+    int counter = 0;
+    for (int i = 3; i < this.depths.length; i++) {
+      if (this.depths[i] > this.depths[i - 3]) {
+        counter++;
+      }
+    }
+    return Result.createResult(counter);
+  }
 }
@@ -22,13 +22,30 @@ package Year2021;
     to a result that is multiplied by 5 before the addition,
     it's most easily done by iterating over the strings in reverse order.
     Each begin bracket can then be matched directly to its points.
+
+  --- Stack alternative (both parts) ---:
+    The same idea, but the new string is a plain char array used as a stack,
+    with an index pointing to its top. It's reused for every line.
+
+    Both parts are scored in the same pass:
+      - A mismatching end bracket adds its points to the corrupted score.
+      - When a line ends, whatever is left on the stack is the incomplete part.
+        Popping it from the top gives the completion score directly.
+
+    The input is cut into chunks of whole lines, and each chunk is checked
+    in parallel with its own stack. The completion scores are kept in a long array.
+
+    The median is then found with quickselect, which only partitions
+    the side of the array that holds the middle index, instead of sorting everything.
 */
 
 import java.util.List;
+import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.Set;
 import java.util.Map;
 import java.util.Comparator;
+import java.util.stream.IntStream;
 
 import absbase.DayX;
 import util.Result;
@@ -44,6 +61,18 @@ public class Day10 extends DayX {
 
   public Day10(String[] args) {
     super(args);
+
+    this.alternatives =
+      Map.of(
+             "Builders", (i) -> solve(i),
+             "Stack",    (i) -> Result.createResult(checkInParallel(i).corrupted)
+            );
+
+    this.alternatives2 =
+      Map.of(
+             "Builders", (i) -> solvePart2(i),
+             "Stack",    (i) -> solvePart2Stack(i)
+            );
   }
 
   // -----
@@ -119,4 +148,170 @@ public class Day10 extends DayX {
     // integer division is always the floor :)
     return Result.createResult(results.get((results.size()) / 2));
   }
+
+
+  // -----
+  private Result solvePart2Stack(String input) {
+    LineChecker checked = checkInParallel(input);
+    return Result.createResult(quickSelect(checked.scores, checked.count / 2, checked.count));
+  }
+
+  // -----
+  private LineChecker checkInParallel(String input) {
+    int length = input.length();
+    int chunks = Math.max(1, Math.min(length / (1 << 16),
+                                      Runtime.getRuntime().availableProcessors() * 4));
+
+    // each chunk starts right after a line break
+    int[] starts = new int[chunks + 1];
+    for (int chunk = 1; chunk < chunks; chunk++) {
+      int position = input.indexOf('\n', Math.max(starts[chunk - 1], chunk * (length / chunks)));
+      starts[chunk] = position < 0 ? length : position + 1;
+    }
+    starts[chunks] = length;
+
+    LineChecker[] checkers = new LineChecker[chunks];
+    IntStream.range(0, chunks)
+             .parallel()
+             .forEach(chunk -> {
+                checkers[chunk] = new LineChecker();
+                checkers[chunk].check(input, starts[chunk], starts[chunk + 1]);
+              });
+
+    LineChecker all = new LineChecker();
+    for (LineChecker checker : checkers) {
+      all.corrupted += checker.corrupted;
+      for (int i = 0; i < checker.count; i++) {
+        all.addScore(checker.scores[i]);
+      }
+    }
+
+    return all;
+  }
+
+  // -----
+  // returns the value that would be at index k if the first "count" values were sorted.
+  private long quickSelect(long[] values, int k, int count) {
+    int left = 0;
+    int right = count - 1;
+
+    while (left < right) {
+      long pivot = values[(left + right) >>> 1];
+      int i = left;
+      int j = right;
+
+      while (i <= j) {
+        while (values[i] < pivot) {
+          i++;
+        }
+        while (values[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          long temp = values[i];
+          values[i++] = values[j];
+          values[j--] = temp;
+        }
+      }
+
+      if (k <= j) {
+        right = j;
+      } else if (k >= i) {
+        left = i;
+      } else {
+        break;
+      }
+    }
+
+    return values[k];
+  }
+
+  // -----
+  private static class LineChecker {
+    private char[] stack = new char[128];
+    private long[] scores = new long[64];
+    private int count;
+    private long corrupted;
+
+    // checks all lines from index "from" up to, but not including, "to".
+    void check(String input, int from, int to) {
+      int top = 0;
+      boolean isCorrupted = false;
+
+      for (int i = from; i <= to; i++) {
+        char character = i < to ? input.charAt(i) : '\n';
+
+        if (character == '\n' || character == '\r') {
+          if (!isCorrupted && top > 0) {
+            long total = 0;
+            while (top > 0) {
+              total = total * 5 + completionPoints(stack[--top]);
+            }
+            addScore(total);
+          }
+          top = 0;
+          isCorrupted = false;
+          continue;
+        }
+
+        if (isCorrupted) {
+          continue;
+        }
+
+        switch (character) {
+          case '(':
+          case '[':
+          case '{':
+          case '<': if (top == stack.length) {
+                      stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = character;
+                    break;
+          default:  if (top > 0 && stack[top - 1] == beginFor(character)) {
+                      top--;
+                    } else {
+                      corrupted += corruptedPoints(character);
+                      isCorrupted = true;
+                    }
+        }
+      }
+    }
+
+    void addScore(long score) {
+      if (count == scores.length) {
+        scores = Arrays.copyOf(scores, count * 2);
+      }
+      scores[count++] = score;
+    }
+
+    static char beginFor(char end) {
+      switch (end) {
+        case ')': return '(';
+        case ']': return '[';
+        case '}': return '{';
+        case '>': return '<';
+        default: throw new AssertionError("Got this: " + end);
+      }
+    }
+
+    static int corruptedPoints(char end) {
+      switch (end) {
+        case ')': return 3;
+        case ']': return 57;
+        case '}': return 1197;
+        case '>': return 25137;
+        default: throw new AssertionError("Got this: " + end);
+      }
+    }
+
+    static int completionPoints(char begin) {
+      switch (begin) {
+        case '(': return 1;
+        case '[': return 2;
+        case '{': return 3;
+        case '<': return 4;
+        default: throw new AssertionError("Got this: " + begin);
+      }
+    }
+  }
 }
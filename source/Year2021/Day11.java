@@ -30,9 +30,35 @@ package Year2021;
     It's assumed that not all octopuses flashed in one go during part 1.
     Part 2 picks up the int array grid left at part 1,
     and continues until they all flash.
+
+  --- Flat grid alternative (both parts) ---:
+    The same two parts, but each grid is a single int array, row after row,
+    where the octopus at (x, y) is at index y * width + x.
+    Both parts are traversed row by row, so the array is read in order.
+
+    The flashing queue is an int array of indices, allocated once per grid.
+    Since an octopus can only be queued once per step, it never needs more slots than
+    there are octopuses. The head and tail are reset at every step, so nothing is allocated
+    while stepping.
+
+  --- Several grids ---:
+    The puzzle has a single grid. As an extension, the input may hold several independent
+    grids separated by empty lines. They are only solved by the flat grid alternative,
+    which simulates them in parallel, each with its own arrays.
+    The puzzle doesn't define answers for them, so these are chosen here:
+      - Part 1 is the sum of the flashes of each grid after 100 steps.
+      - Part 2 is the largest of each grid's first step where all its octopuses flash.
+        That is the first step where every grid has synchronized at least once,
+        not a step where all the grids flash together.
+    For a single grid both are the usual answers.
+
+    The jagged grid only holds a single grid. For several grids, solve and solvePart2
+    use the flat grid instead, and the "Jagged" alternatives are skipped with no result.
 */
 
+import java.util.Arrays;
 import java.util.LinkedList;
+import java.util.Map;
 
 import absbase.DayX;
 import util.Result;
@@ -51,6 +77,18 @@ public class Day11 extends DayX {
 
   public Day11(String[] args) {
     super(args);
+
+    this.alternatives =
+      Map.of(
+             "Jagged", (i) -> solveJagged(i),
+             "Flat",   (i) -> solveFlat(i)
+            );
+
+    this.alternatives2 =
+      Map.of(
+             "Jagged", (i) -> solvePart2Jagged(i),
+             "Flat",   (i) -> solvePart2Flat(i)
+            );
   }
 
   // -----
@@ -62,9 +100,30 @@ public class Day11 extends DayX {
                           .toArray(int[][]::new);
   }
 
+  // -----
+  private Result solveJagged(String input) {
+    if (!isSingleGrid(input)) {
+      return Result.createDummyResult();
+    }
+    this.octopuses = null;
+    return solve(input);
+  }
+
+  // -----
+  private Result solvePart2Jagged(String input) {
+    if (!isSingleGrid(input)) {
+      return Result.createDummyResult();
+    }
+    this.octopuses = null;
+    return solvePart2(input);
+  }
+
   // -----
   public Result solve(String input) {
     if (this.octopuses == null) {
+      if (!isSingleGrid(input)) {
+        return solveFlat(input);
+      }
       setup(input);
     }
     int localIterations = this.part == 2 ? Integer.MAX_VALUE : this.iterations;
@@ -120,6 +179,9 @@ public class Day11 extends DayX {
 
   // -----
   public Result solvePart2(String input) {
+    if (this.octopuses == null && !isSingleGrid(input)) {
+      return solvePart2Flat(input);
+    }
     if (this.octopuses == null) {
       this.part = 2;
       return solve(input);
@@ -130,4 +192,110 @@ public class Day11 extends DayX {
     this.part = 1;
     return Result.createResult(result);
   }
+
+
+  // -----
+  private Result solveFlat(String input) {
+    return Result.createResult(Arrays.stream(splitGrids(input))
+                                     .parallel()
+                                     .map(grid -> new OctopusGrid(grid, this.energyLimit))
+                                     .mapToLong(grid -> grid.steps(this.iterations))
+                                     .sum());
+  }
+
+  // -----
+  private Result solvePart2Flat(String input) {
+    return Result.createResult(Arrays.stream(splitGrids(input))
+                                     .parallel()
+                                     .map(grid -> new OctopusGrid(grid, this.energyLimit))
+                                     .mapToLong(grid -> grid.stepsUntilSynchronized())
+                                     .max()
+                                     .orElseThrow());
+  }
+
+  // grids are separated by empty lines
+  private String[] splitGrids(String input) {
+    return input.strip().split("\\R\\s*\\R");
+  }
+
+  // -----
+  private boolean isSingleGrid(String input) {
+    return splitGrids(input).length == 1;
+  }
+
+  // -----
+  private static class OctopusGrid {
+    private final int[] levels;
+    private final int[] queue;
+    private final int width;
+    private final int height;
+    private final int energyLimit;
+
+    OctopusGrid(String grid, int energyLimit) {
+      String[] rows = grid.split("\\R");
+      this.height = rows.length;
+      this.width = rows[0].length();
+      this.energyLimit = energyLimit;
+      this.levels = new int[width * height];
+      this.queue = new int[width * height];
+
+      for (int y = 0; y < height; y++) {
+        for (int x = 0; x < width; x++) {
+          levels[y * width + x] = rows[y].charAt(x) - '0';
+        }
+      }
+    }
+
+    // returns the total number of flashes
+    long steps(int iterations) {
+      long total = 0;
+      for (int k = 0; k < iterations; k++) {
+        total += step();
+      }
+      return total;
+    }
+
+    // returns the first step where all octopuses flash
+    long stepsUntilSynchronized() {
+      long step = 1;
+      while (step() != levels.length) {
+        step++;
+      }
+      return step;
+    }
+
+    // returns the number of flashes in this step
+    int step() {
+      int head = 0;
+      int tail = 0;
+
+      for (int index = 0; index < levels.length; index++) {
+        int check = levels[index];
+        if (check == energyLimit) {
+          queue[tail++] = index;
+        } else if (check > energyLimit) {
+          levels[index] = 0;
+        }
+        levels[index]++;
+      }
+
+      while (head < tail) {
+        int index = queue[head++];
+        int y = index / width;
+        int x = index - y * width;
+
+        for (int i = Math.max(0, y - 1); i <= Math.min(y + 1, height - 1); i++) {
+          for (int j = Math.max(0, x - 1); j <= Math.min(x + 1, width - 1); j++) {
+            int neighbor = i * width + j;
+            if (levels[neighbor] == energyLimit) {
+              queue[tail++] = neighbor;
+            }
+            levels[neighbor]++;
+          }
+        }
+      }
+
+      return tail;
+    }
+  }
 }
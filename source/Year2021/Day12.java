@@ -61,7 +61,6 @@ public class Day12 extends DayX {
   private Map<String, Set<String>> graph = new HashMap<>();  // the input graph
   private String start = "start";
   private String end = "end";
-  private int part = 1;
 
   private BiConsumer<String, String> simpleAddToGraph
     = (first, second) -> addBothToGraph(first, second);
@@ -152,13 +151,19 @@ public class Day12 extends DayX {
       setup(input, simpleAddToGraph);
     }
 
+    return Result.createResult(countPaths(false));
+  }
+
+  // -----
+  private int countPaths(boolean smallCaveTwice) {
     LinkedList<Path> queue = new LinkedList<>();
     int counter = 0;
 
-    queue.add(new Path(start, this.part == 1 ? false : true));
+    queue.add(new Path(start, smallCaveTwice));
 
     Path path = null;
     while ((path = queue.poll()) != null) {
+      checkCancelled();
       String last = path.last;
       for (String connection : this.graph.get(last)) {
         if (end.equals(connection)) {
@@ -172,7 +177,7 @@ public class Day12 extends DayX {
       }
     }
 
-    return Result.createResult(counter);
+    return counter;
   }
 
   // -----
@@ -180,10 +185,8 @@ public class Day12 extends DayX {
     if (this.graph == null || this.graph.isEmpty()) {
       setup(input, simpleAddToGraph);
     }
-    this.part = 2;
-    Result result = solve(input);
-    this.part = 1; // cleanup;
-    return result;
+
+    return Result.createResult(countPaths(true));
   }
 
   // -----
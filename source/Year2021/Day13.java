@@ -36,6 +36,19 @@ package Year2021;
     That would make sorted sets unnecesary, except maybe for counting the unique #-points.
     This method is discussed in details below just before
     the implemention of the alternative approach.
+
+
+  Bitmap alternative:
+    The same combined folding, but as a lookup table per axis instead of curried functions.
+    Each table holds the folded coordinate of every coordinate on that axis,
+    so each dot is folded with just two array lookups. That is done in parallel.
+
+    After the last fold the paper is exactly as wide and high as the smallest
+    fold lines, so the folded dots fit into a bitmap of that size, one bit per spot.
+    Dots that end up on the same spot just set the same bit, and counting
+    the set bits counts the unique dots.
+
+    The bitmap is given directly to the Result, which reads the letters from the bits.
 */
 
 import java.util.ArrayList;
@@ -61,6 +74,9 @@ public class Day13 extends DayX {
 
   private long[][] hash2DCoordinates;       // x, y points. Used in the alternative method.
 
+  private int[] dotsX;                      // x points. Used in the bitmap alternative.
+  private int[] dotsY;                      // y points. Used in the bitmap alternative.
+
   // -----
   public static void main(String[] args){
     new Day13(args).doIt();
@@ -76,12 +92,14 @@ public class Day13 extends DayX {
     this.alternatives =
       Map.of(
              "TreeSets",    (i) -> solveFirstOption(i),
-             "CurryNarray", (i) -> solveAlternative(i)
+             "CurryNarray", (i) -> solveAlternative(i),
+             "Bitmap",      (i) -> solveBitmap(i)
             );
     this.alternatives2 =
       Map.of(
              "TreeSets",    (i) -> solvePart2FirstOption(i),
-             "CurryNarray", (i) -> solvePart2Alternative(i)
+             "CurryNarray", (i) -> solvePart2Alternative(i),
+             "Bitmap",      (i) -> solvePart2Bitmap(i)
             );
   }
 
@@ -410,4 +428,117 @@ public class Day13 extends DayX {
                       .mapToObj(i -> ascIIimage[i].toString())
                       .toArray(String[]::new));
   }
+
+
+/* -------------------------------------------------------------------------------------
+
+  Bitmap alternative.
+*/
+
+  // -----
+  private void setupBitmap(String input) {
+    String[] dataNinstructions = input.split("\\R{2}");
+    String dots = dataNinstructions[0];
+
+    int[] xs = new int[256];
+    int[] ys = new int[256];
+    int count = 0;
+    int value = 0;
+
+    for (int i = 0; i <= dots.length(); i++) {
+      char c = i < dots.length() ? dots.charAt(i) : '\n';
+      if (c >= '0' && c <= '9') {
+        value = value * 10 + (c - '0');
+      } else if (c == ',') {
+        if (count == xs.length) {
+          xs = Arrays.copyOf(xs, count * 2);
+          ys = Arrays.copyOf(ys, count * 2);
+        }
+        xs[count] = value;
+        value = 0;
+      } else if (c == '\n') {
+        ys[count++] = value;
+        value = 0;
+      }
+    }
+
+    this.dotsX = Arrays.copyOf(xs, count);
+    this.dotsY = Arrays.copyOf(ys, count);
+
+    setupInstructions(dataNinstructions[1]);
+  }
+
+  // -----
+  private Result solveBitmap(String input) {
+    setupBitmap(input);
+
+    int[] size = new int[2];
+    long[] bitmap = foldToBitmap(1, size);
+
+    long result = 0;
+    for (long bits : bitmap) {
+      result += Long.bitCount(bits);
+    }
+
+    return Result.createResult(result);
+  }
+
+  // -----
+  private Result solvePart2Bitmap(String input) {
+    if (this.dotsX == null) {
+      setupBitmap(input);
+    }
+
+    int[] size = new int[2];
+    long[] bitmap = foldToBitmap(this.instructions.length, size);
+
+    return Result.createAscIIResult(bitmap, size[0], size[1]);
+  }
+
+  // folds the dots with the first "folds" instructions.
+  // sets the width and height of the folded paper into "size".
+  private long[] foldToBitmap(int folds, int[] size) {
+    int width = Arrays.stream(this.dotsX).max().orElse(0) + 1;
+    int height = Arrays.stream(this.dotsY).max().orElse(0) + 1;
+
+    int[] tableX = IntStream.range(0, width).toArray();
+    int[] tableY = IntStream.range(0, height).toArray();
+
+    // the folded size is the smallest fold line of each axis
+    int foldedWidth = width;
+    int foldedHeight = height;
+
+    for (int k = 0; k < folds; k++) {
+      int foldline = Integer.parseInt(this.instructions[k][1]);
+      if ("x".equals(this.instructions[k][0])) {
+        foldTable(tableX, foldline);
+        foldedWidth = Math.min(foldedWidth, foldline);
+      } else {
+        foldTable(tableY, foldline);
+        foldedHeight = Math.min(foldedHeight, foldline);
+      }
+    }
+
+    int paperWidth = foldedWidth;
+    int[] indices = IntStream.range(0, this.dotsX.length)
+                             .parallel()
+                             .map(i -> tableY[this.dotsY[i]] * paperWidth + tableX[this.dotsX[i]])
+                             .toArray();
+
+    long[] bitmap = new long[(foldedWidth * foldedHeight + 63) >>> 6];
+    for (int index : indices) {
+      bitmap[index >>> 6] |= 1L << index;
+    }
+
+    size[0] = foldedWidth;
+    size[1] = foldedHeight;
+    return bitmap;
+  }
+
+  // applies a fold to every folded coordinate in the table
+  private void foldTable(int[] table, int foldline) {
+    for (int i = 0; i < table.length; i++) {
+      table[i] = foldline - Math.abs(foldline - table[i]);
+    }
+  }
 }
@@ -65,9 +65,9 @@ package Year2021;
     Two separate solutions have been implemented for this:
     1. Extending the grid to be 5 x 5 of the original
        with each coordinate's weight pre-calculated.
-    2. Adding a factor variable, that enables
+    2. Passing a factor to the solver, that enables
        calculating the edge-weight on-the-fly based on the coordinates.
-       In part 1 the factor is 1, but in part 2 the factor is set to 5.
+       In part 1 the factor is 1, but in part 2 the factor is 5.
 
     The only trick is to realize that the values 1 to 9
     can be seen as 0 to 8 (+1).
@@ -91,7 +91,6 @@ public class Day15 extends DayX {
 
   private int[][] weights;  // the input
   private int weightsSize;
-  private int factor = 1;   // used for scaling up the input grid in part 2
 
   // -----
   public static void main(String[] args){
@@ -103,8 +102,8 @@ public class Day15 extends DayX {
 
     this.alternatives =
       Map.of(
-             "Arrays", (i) -> solveArrays(i),
-             "Class",  (i) -> solveClass(i)
+             "Arrays", (i) -> solveArrays(i, 1),
+             "Class",  (i) -> solveClass(i, 1)
             );
     this.alternatives2 =
       Map.of(
@@ -132,12 +131,12 @@ public class Day15 extends DayX {
 
   // -----
   public Result solve(String input) {
-    // return solveArrays(input);
-    return solveClass(input);
+    // return solveArrays(input, 1);
+    return solveClass(input, 1);
   }
 
   // -----
-  private Result solveArrays(String input) {
+  private Result solveArrays(String input, int factor) {
     if (this.weights == null || this.weights.length == 0) {
       setup(input);
     }
@@ -165,12 +164,13 @@ public class Day15 extends DayX {
     checkOut.add(startMetric);
 
     // destination point:
-    int endPoint = this.weightsSize * this.factor - 1;
+    int endPoint = this.weightsSize * factor - 1;
 
     long result = 0L;
     // loop the queue
     int[][] current = null;
     while ((current = checkOut.poll()) != null) {
+      checkCancelled();
 
       // with this "hack" elements can be added even if they are in the queue already
       int handled = current[1][1];
@@ -191,10 +191,10 @@ public class Day15 extends DayX {
         break;
       }
 
-      checkNeighborPoint(pointX - 1, pointY,     cost, point, checkOut, points);
-      checkNeighborPoint(pointX + 1, pointY,     cost, point, checkOut, points);
-      checkNeighborPoint(pointX,     pointY - 1, cost, point, checkOut, points);
-      checkNeighborPoint(pointX,     pointY + 1, cost, point, checkOut, points);
+      checkNeighborPoint(pointX - 1, pointY,     cost, point, checkOut, points, factor);
+      checkNeighborPoint(pointX + 1, pointY,     cost, point, checkOut, points, factor);
+      checkNeighborPoint(pointX,     pointY - 1, cost, point, checkOut, points, factor);
+      checkNeighborPoint(pointX,     pointY + 1, cost, point, checkOut, points, factor);
 
       metric[1] = 1; // handled
     }
@@ -207,16 +207,17 @@ public class Day15 extends DayX {
                                   int initialCost,
                                   int[] currentPoint,
                                   PriorityQueue<int[][]> checkOut,
-                                  Map<int[], int[][]> points) {
+                                  Map<int[], int[][]> points,
+                                  int factor) {
 
-    if (isOutOfBounds(x,y)) {
+    if (isOutOfBounds(x, y, factor)) {
       return;
     }
 
     int[] neighborPoint = new int[]{y, x};
     int[][] pointMetric = points.get(neighborPoint);
 
-    int newCost = initialCost + getWeight(x, y, this.factor);
+    int newCost = initialCost + getWeight(x, y, factor);
 
     if (pointMetric == null) {
       // neighbor isn't in the map. Create one and add it
@@ -236,7 +237,7 @@ public class Day15 extends DayX {
   }
 
   // -----
-  private Result solveClass(String input) {
+  private Result solveClass(String input, int factor) {
     if (this.weights == null || this.weights.length == 0) {
       setup(input);
     }
@@ -253,7 +254,7 @@ public class Day15 extends DayX {
     checkOut.add(start);
 
     // destination point:
-    int endPoint = this.weightsSize * this.factor - 1;
+    int endPoint = this.weightsSize * factor - 1;
     Point end = new Point(endPoint, endPoint, Integer.MAX_VALUE, false);
     points.put(end, end);
 
@@ -261,6 +262,7 @@ public class Day15 extends DayX {
     // loop the queue
     Point current = null;
     while ((current = checkOut.poll()) != null) {
+      checkCancelled();
       if (current.handled) {  // this never happens :O
         continue;
       }
@@ -270,10 +272,10 @@ public class Day15 extends DayX {
         break;
       }
 
-      checkNeighborPointClass(current.x - 1, current.y,     current, checkOut, points);
-      checkNeighborPointClass(current.x + 1, current.y,     current, checkOut, points);
-      checkNeighborPointClass(current.x,     current.y - 1, current, checkOut, points);
-      checkNeighborPointClass(current.x,     current.y + 1, current, checkOut, points);
+      checkNeighborPointClass(current.x - 1, current.y,     current, checkOut, points, factor);
+      checkNeighborPointClass(current.x + 1, current.y,     current, checkOut, points, factor);
+      checkNeighborPointClass(current.x,     current.y - 1, current, checkOut, points, factor);
+      checkNeighborPointClass(current.x,     current.y + 1, current, checkOut, points, factor);
 
       current.handled = true;
     }
@@ -285,12 +287,13 @@ public class Day15 extends DayX {
   private void checkNeighborPointClass(int x, int y,
                                        Point current,
                                        PriorityQueue<Point> checkOut,
-                                       Map<Point, Point> points) {
-    if (isOutOfBounds(x,y)) {
+                                       Map<Point, Point> points,
+                                       int factor) {
+    if (isOutOfBounds(x, y, factor)) {
       return;
     }
 
-    int newCost = current.cost + getWeight(x, y, this.factor);
+    int newCost = current.cost + getWeight(x, y, factor);
 
     Point neighborPoint = new Point(x, y, newCost, false);
     Point neighborDouble = points.get(neighborPoint);
@@ -342,10 +345,10 @@ public class Day15 extends DayX {
   }
 
   // -----
-  private boolean isOutOfBounds(int x, int y) {
+  private boolean isOutOfBounds(int x, int y, int factor) {
     // is x, y within bounds of the grid?
-    if ((x < 0 || x > this.weightsSize * this.factor - 1)
-        || (y < 0 || y > this.weightsSize * this.factor - 1)) {
+    if ((x < 0 || x > this.weightsSize * factor - 1)
+        || (y < 0 || y > this.weightsSize * factor - 1)) {
       return true;
     }
     return false;
@@ -375,10 +378,7 @@ public class Day15 extends DayX {
       setup(input);
     }
 
-    this.factor = 5;
-    Result result = solve(input);
-    this.factor = 1;
-    return result;
+    return solveClass(input, 5);
   }
 
   // -----
@@ -399,7 +399,7 @@ public class Day15 extends DayX {
 
     this.weights = upfactoredWeights;
     this.weightsSize = upfactoredSize;
-    Result result = solve(input);
+    Result result = solveClass(input, 1);
     setup(input);
     return result;
   }
@@ -191,8 +191,38 @@ package Year2021;
       Step 4: [-1, 7] - [-1, 8] - [-1, 9] - [0, 7] - [0, 8] - [0, 9]
       Step 5:                      [0, 6] - [0, 7] - [0, 8] - [1, 6] - [1, 7] - [1, 8]
                                              ^ duplicates ^
+
+
+  ## Intervals alternative for part 2
+
+    Turn it around: instead of the velocities for every step, find the steps for every velocity.
+
+    For a target area below the start, the y-position after n steps is
+      y(n) = n * vy - n(n-1)/2
+    which only decreases once it's past the top. So the steps where vy is inside the area
+    is one interval of steps [yFirst, yLast], found by solving y(n) = maxY and y(n) = minY:
+      n = ((2vy + 1) + √((2vy + 1)² - 8 * maxY)) / 2   rounded up for yFirst
+      n = ((2vy + 1) + √((2vy + 1)² - 8 * minY)) / 2   rounded down for yLast
+
+    The x-position is the same, but it stops at vx(vx+1)/2 after vx steps.
+    The steps where vx is inside the area is again one interval [xFirst, xLast],
+    using the smaller root of x(n) = minX and x(n) = maxX.
+    If x stops inside the area, xLast has no end.
+
+    The square roots are calculated with doubles, then corrected by checking the positions.
+
+    A pair (vx, vy) hits the area if their step intervals overlap. Two intervals don't overlap
+    if one ends before the other starts:
+      xLast < yFirst    or    yLast < xFirst
+    and both can't be true at the same time. So:
+      hits = (all vx) * (all vy) - count(xLast < yFirst) - count(yLast < xFirst)
+
+    With the four ends sorted, both counts are found by walking through them once,
+    so the pairs never need to be enumerated.
+    A target left of the start is mirrored. Any other target falls back to the StepByStep.
 */
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.TreeMap;
@@ -220,6 +250,12 @@ public class Day17 extends DayX {
 
   public Day17(String[] args) {
     super(args);
+
+    this.alternatives2 =
+      Map.of(
+             "StepByStep", (i) -> solvePart2(i),
+             "Intervals",  (i) -> solvePart2Intervals(i)
+            );
   }
 
   // -----
@@ -358,4 +394,133 @@ public class Day17 extends DayX {
 
     return Result.createResult(combinedEntries.size());
   }
+
+
+  // -----
+  private Result solvePart2Intervals(String input) {
+    setup(input);
+
+    // mirror a target left of the start
+    long minX = this.xMax < 0 ? -(long) this.xMax : this.xMin;
+    long maxX = this.xMax < 0 ? -(long) this.xMin : this.xMax;
+    long minY = this.yMin;
+    long maxY = this.yMax;
+
+    if (minX <= 0 || maxY >= 0) {
+      return solvePart2(input);
+    }
+
+    // step intervals of every vx from 1 to maxX
+    long[] xFirst = new long[(int) maxX];
+    long[] xLast = new long[(int) maxX];
+    int xCount = 0;
+
+    for (long vx = 1; vx <= maxX; vx++) {
+      if (vx * (vx + 1) / 2 < minX) {
+        continue;  // stops before the area
+      }
+
+      long first = (long) Math.ceil(smallerRoot(vx, minX));
+      while (first > 1 && xAt(vx, first - 1) >= minX) {
+        first--;
+      }
+      while (xAt(vx, first) < minX) {
+        first++;
+      }
+
+      long last = Long.MAX_VALUE;  // stops inside the area
+      if (vx * (vx + 1) / 2 > maxX) {
+        last = (long) Math.floor(smallerRoot(vx, maxX));
+        while (xAt(vx, last + 1) <= maxX) {
+          last++;
+        }
+        while (last > 0 && xAt(vx, last) > maxX) {
+          last--;
+        }
+      }
+
+      if (first <= last) {
+        xFirst[xCount] = first;
+        xLast[xCount++] = last;
+      }
+    }
+
+    // step intervals of every vy from minY to -(minY + 1)
+    int ySize = (int) (-2 * minY);
+    long[] yFirst = new long[ySize];
+    long[] yLast = new long[ySize];
+    int yCount = 0;
+
+    for (long vy = minY; vy <= -(minY + 1); vy++) {
+      long first = Math.max(1, (long) Math.ceil(largerRoot(vy, maxY)));
+      while (first > 1 && yAt(vy, first - 1) <= maxY) {
+        first--;
+      }
+      while (yAt(vy, first) > maxY) {
+        first++;
+      }
+
+      long last = (long) Math.floor(largerRoot(vy, minY));
+      while (yAt(vy, last + 1) >= minY) {
+        last++;
+      }
+      while (last > 0 && yAt(vy, last) < minY) {
+        last--;
+      }
+
+      if (first <= last) {
+        yFirst[yCount] = first;
+        yLast[yCount++] = last;
+      }
+    }
+
+    xFirst = Arrays.copyOf(xFirst, xCount);
+    xLast = Arrays.copyOf(xLast, xCount);
+    yFirst = Arrays.copyOf(yFirst, yCount);
+    yLast = Arrays.copyOf(yLast, yCount);
+    Arrays.sort(xFirst);
+    Arrays.sort(xLast);
+    Arrays.sort(yFirst);
+    Arrays.sort(yLast);
+
+    long misses = countLessThan(xLast, yFirst) + countLessThan(yLast, xFirst);
+
+    return Result.createResult((long) xCount * yCount - misses);
+  }
+
+  // x-position after n steps with the initial velocity vx
+  private long xAt(long vx, long n) {
+    long steps = Math.min(n, vx);
+    return steps * vx - steps * (steps - 1) / 2;
+  }
+
+  // y-position after n steps with the initial velocity vy
+  private long yAt(long vy, long n) {
+    return n * vy - n * (n - 1) / 2;
+  }
+
+  // the smaller n where n * v - n(n-1)/2 = position
+  private double smallerRoot(long v, long position) {
+    double b = 2 * v + 1;
+    return (b - Math.sqrt(b * b - 8.0 * position)) / 2;
+  }
+
+  // the larger n where n * v - n(n-1)/2 = position
+  private double largerRoot(long v, long position) {
+    double b = 2 * v + 1;
+    return (b + Math.sqrt(b * b - 8.0 * position)) / 2;
+  }
+
+  // counts the pairs (a, b) where a < b. Both arrays must be sorted.
+  private long countLessThan(long[] as, long[] bs) {
+    long count = 0;
+    int i = 0;
+    for (long b : bs) {
+      while (i < as.length && as[i] < b) {
+        i++;
+      }
+      count += i;
+    }
+    return count;
+  }
 }
@@ -334,6 +334,11 @@ package Year2021;
 
       In 2D the mirrored coordinates just happen to lie
       within the valid rotations for the scanner.
+
+    #### Reading the input
+
+      The "Split" and "Tokenizer" alternatives compare splitting every line on ","
+      to reading all the numbers of a scanner in one scan with util.Tokenizer.
 */
 
 import java.util.List;
@@ -353,6 +358,7 @@ import java.util.Arrays;
 
 import absbase.DayX;
 import util.Result;
+import util.Tokenizer;
 
 public class Day19 extends DayX {
 
@@ -375,7 +381,9 @@ public class Day19 extends DayX {
 
     this.alternatives =
       Map.of(
-             "JustTheOne",  (i) -> solve(i)
+             "JustTheOne",  (i) -> solve(i),
+             "Split",       (i) -> {setup(i);          return solve(i);},
+             "Tokenizer",   (i) -> {setupTokenizer(i); return solve(i);}
             );
   }
 
@@ -408,6 +416,23 @@ public class Day19 extends DayX {
     }
   }
 
+  // ----- the first number of a scanner is its key, followed by the x, y, z of its probes
+  private void setupTokenizer(String input) {
+    String[] scannerInput = input.split("\\R{2}");
+    this.scanners = new HashMap<>(scannerInput.length);
+
+    for (String str : scannerInput) {
+      int[] values = Tokenizer.ints(str);
+
+      int[][] probeCoordinates = new int[(values.length - 1) / 3][];
+      for (int k = 0; k < probeCoordinates.length; k++) {
+        probeCoordinates[k] = Arrays.copyOfRange(values, 1 + k * 3, 4 + k * 3);
+      }
+
+      this.scanners.put(values[0], new Scanner(values[0], probeCoordinates));
+    }
+  }
+
   // -----
   public Result solve(String input) {
     if (this.scanners == null || this.scanners.size() == 0) {
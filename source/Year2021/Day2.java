@@ -2,9 +2,32 @@ package Year2021;
 
 /*
   As with the first Day, the naive straight forward approach seems to work fine.
+
+  SinglePass alternative:
+    Walk the input once, looking only at the first character of each command
+    ('f', 'd' or 'u'), and read the number right after the space.
+    Both parts are kept in the same pass, since "down" and "up" change
+    the depth in part 1 exactly as they change the aim in part 2.
+
+    To run it on several cores, the input is cut into chunks of whole lines.
+    Each chunk is summarized as if it started at an aim of 0:
+      forward  = the sum of all the forward values
+      aim      = the sum of down minus up
+      depth    = the sum of forward * aim, with the aim of the chunk so far
+
+    Two summaries, left and right, combine into one by:
+      forward  = forward-left + forward-right
+      aim      = aim-left + aim-right
+      depth    = depth-left + depth-right + aim-left * forward-right
+    since every forward in the right chunk really had aim-left more aim.
+    The combination is associative, so the chunks can be combined in order in any grouping.
+
+      part 1 = forward * aim
+      part 2 = forward * depth
 */
 
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import absbase.DayX;
 import util.Result;
@@ -23,7 +46,12 @@ public class Day2 extends DayX {
 
     this.alternatives =
       Map.of("SetupStream",  (i) -> {setup(i);            return solve(i);},
-             "SetupForLoop", (i) -> {setupAlternative(i); return solve(i);});
+             "SetupForLoop", (i) -> {setupAlternative(i); return solve(i);},
+             "SinglePass",   (i) -> {long[] c = singlePass(i); return Result.createResult(c[0] * c[1]);});
+
+    this.alternatives2 =
+      Map.of("SetupForLoop", (i) -> {setupAlternative(i); return solvePart2(i);},
+             "SinglePass",   (i) -> {long[] c = singlePass(i); return Result.createResult(c[0] * c[2]);});
   }
 
   // -----
@@ -111,4 +139,73 @@ public class Day2 extends DayX {
 
     return Result.createResult(horizontal * depth);
   }
+
+  // ----- returns the combined {forward, aim, depth} of the whole input
+  private long[] singlePass(String input) {
+    int length = input.length();
+    int chunks = Math.max(1, Math.min(length / (1 << 16),
+                                      Runtime.getRuntime().availableProcessors() * 4));
+
+    // each chunk starts right after a line break
+    int[] starts = new int[chunks + 1];
+    for (int chunk = 1; chunk < chunks; chunk++) {
+      int position = input.indexOf('\n', Math.max(starts[chunk - 1], chunk * (length / chunks)));
+      starts[chunk] = position < 0 ? length : position + 1;
+    }
+    starts[chunks] = length;
+
+    long[][] summaries = IntStream.range(0, chunks)
+                                  .parallel()
+                                  .mapToObj(chunk -> summarize(input, starts[chunk], starts[chunk + 1]))
+                                  .toArray(long[][]::new);
+
+    long[] combined = new long[3];
+    for (long[] summary : summaries) {
+      combined[2] += summary[2] + combined[1] * summary[0];
+      combined[0] += summary[0];
+      combined[1] += summary[1];
+    }
+    return combined;
+  }
+
+  // ----- summarizes the lines from index "from" up to, but not including, "to"
+  private long[] summarize(String input, int from, int to) {
+    long forward = 0;
+    long aim = 0;
+    long depth = 0;
+
+    int i = from;
+    while (i < to) {
+      char command = input.charAt(i);
+
+      // skip to the value after the space
+      while (i < to && input.charAt(i) != ' ') {
+        i++;
+      }
+      i++;
+
+      long value = 0;
+      while (i < to && input.charAt(i) >= '0' && input.charAt(i) <= '9') {
+        value = value * 10 + (input.charAt(i++) - '0');
+      }
+
+      switch (command) {
+        case 'f': forward += value;
+                  depth += aim * value;
+                  break;
+        case 'd': aim += value;
+                  break;
+        case 'u': aim -= value;
+                  break;
+        default:  throw new AssertionError("command: " + command);
+      }
+
+      // skip the line break
+      while (i < to && (input.charAt(i) == '\r' || input.charAt(i) == '\n')) {
+        i++;
+      }
+    }
+
+    return new long[]{forward, aim, depth};
+  }
 }
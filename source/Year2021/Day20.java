@@ -42,7 +42,6 @@ public class Day20 extends DayX {
   private int[] enhancements;
   private int[][] initialImage;
   private int universeColor;
-  private int repeat = 2;
 
   // -----
   public static void main(String args[]){
@@ -78,6 +77,11 @@ public class Day20 extends DayX {
 
   // -----
   public Result solve(String input) {
+    return enhance(input, 2);
+  }
+
+  // -----
+  private Result enhance(String input, int repeat) {
     if (this.initialImage == null || this.initialImage.length == 0) {
       setup(input);
     }
@@ -86,7 +90,7 @@ public class Day20 extends DayX {
     // Initialize & expand with one border before the run
     int[][] enhancedWorld = expandWorld(this.initialImage, universeColour);
 
-    for (int i = 0; i < this.repeat; i++) {
+    for (int i = 0; i < repeat; i++) {
       enhancedWorld = enhanceWorld(enhancedWorld, universeColour);
       universeColour = enhancedWorld[0][0];
     }
@@ -182,9 +186,6 @@ public class Day20 extends DayX {
 
   // -----
   public Result solvePart2(String input) {
-    this.repeat = 50;
-    Result result = solve(input);
-    this.repeat = 2;
-    return result;
+    return enhance(input, 50);
   }
 }
@@ -265,6 +265,10 @@ package Year2021;
       While their intersections with other cuboids
       will still need to be subtracted, they should
       themselves obviously not be added to the positive list.
+
+  The "Regex" and "Tokenizer" alternatives compare reading the cuboids with a regular expression
+  per line to reading all the coordinates in one scan with util.Tokenizer.
+  Both solve part 1 with the "inclusion–exclusion principle" afterwards.
 */
 
 import java.util.List;
@@ -274,7 +278,6 @@ import java.util.ListIterator;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.regex.Pattern;
 import java.util.regex.Matcher;
 import java.util.stream.Stream;
 import java.util.stream.IntStream;
@@ -282,6 +285,8 @@ import java.util.Arrays;
 
 import absbase.DayX;
 import util.Result;
+import util.Patterns;
+import util.Tokenizer;
 
 public class Day22 extends DayX {
 
@@ -303,7 +308,9 @@ public class Day22 extends DayX {
     this.alternatives =
       Map.of(
              "On-Cuboids",       (i) -> solveOnlyOncuboids(i),
-             "Include-exclude",  (i) -> solveInclusionExclusion(i)
+             "Include-exclude",  (i) -> solveInclusionExclusion(i),
+             "Regex",            (i) -> {setup(i);          return solveInclusionExclusion(i);},
+             "Tokenizer",        (i) -> {setupTokenizer(i); return solveInclusionExclusion(i);}
             );
   }
 
@@ -322,15 +329,31 @@ public class Day22 extends DayX {
           });
   }
 
+  // ----- every line has 6 coordinates, like: on x=-20..26,y=-36..17,z=-47..7
+  private void setupTokenizer(String input) {
+    this.cuboids = new ArrayList<>();
+
+    int[] values = Tokenizer.ints(input);
+    int lineStart = 0;
+    for (int k = 0; k + 6 <= values.length; k += 6) {
+      String onf = input.startsWith("on", lineStart) ? "on" : "off";
+      this.cuboids.add(new Cuboid(onf,
+                                  new int[]{values[k],     values[k + 1]},
+                                  new int[]{values[k + 2], values[k + 3]},
+                                  new int[]{values[k + 4], values[k + 5]}));
+      lineStart = input.indexOf('\n', lineStart) + 1;
+    }
+  }
+
   // ----
   private Cuboid makeCuboid(String str) {
-    Pattern pattern
-      = Pattern.compile("(on|off)\\sx=(-?\\d+)\\.\\.(-?\\d+)"+
+    Matcher matcher
+      = Patterns.matcher("(on|off)\\sx=(-?\\d+)\\.\\.(-?\\d+)"+
                                   ",y=(-?\\d+)\\.\\.(-?\\d+)"+
-                                  ",z=(-?\\d+)\\.\\.(-?\\d+)");
-    Matcher matcher = pattern.matcher(str);
+                                  ",z=(-?\\d+)\\.\\.(-?\\d+)",
+                         str);
 
-    if (matcher.find() && matcher.groupCount() == 7) {
+    if (Patterns.find(matcher) && matcher.groupCount() == 7) {
       String onf = matcher.group(1);
       int[] x = new int[]{Integer.parseInt(matcher.group(2)),
                           Integer.parseInt(matcher.group(3))};
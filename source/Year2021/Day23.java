@@ -138,10 +138,9 @@ import util.Result;
 
 public class Day23 extends DayX {
 
-  private int amphipodRows = 2;
+  private static final int AMPHIPOD_ROWS = 2;  // part 2 adds two more rows
   private AmpState startPart1;
   private AmpState startPart2;
-  private AmpState initial;    // either startPart1 or startPart2
 
   private char amphipodHome = '.';
 
@@ -156,7 +155,7 @@ public class Day23 extends DayX {
 
   // -----
   private void setup(String input) {
-    char[][] rooms = new char[4][this.amphipodRows];
+    char[][] rooms = new char[4][AMPHIPOD_ROWS];
 
     String[] splitInput = input.split("\\R");
 
@@ -170,7 +169,7 @@ public class Day23 extends DayX {
 
     //  #D#C#B#A# <-- second row for part2
     //  #D#B#A#C# <--  third row for part2
-    char[][] roomsPart2 = new char[4][this.amphipodRows + 2];
+    char[][] roomsPart2 = new char[4][AMPHIPOD_ROWS + 2];
     roomsPart2[0] = new char[]{rooms[0][0], 'D', 'D', rooms[0][1]};
     roomsPart2[1] = new char[]{rooms[1][0], 'C', 'B', rooms[1][1]};
     roomsPart2[2] = new char[]{rooms[2][0], 'B', 'A', rooms[2][1]};
@@ -178,7 +177,6 @@ public class Day23 extends DayX {
 
     this.startPart1 = createStartAmpState(rooms);
     this.startPart2 = createStartAmpState(roomsPart2);
-    this.initial = this.startPart1;
   }
 
   private AmpState createStartAmpState(char[][] rooms) {
@@ -203,17 +201,23 @@ public class Day23 extends DayX {
 
   // -----
   public Result solve(String input) {
-    if (this.initial == null) {
+    if (this.startPart1 == null) {
       setup(input);
     }
 
+    return Result.createResult(organize(this.startPart1));
+  }
+
+  // the start state is never changed, so part 1 and part 2 can run at the same time
+  private int organize(AmpState initial) {
     int minimumCost = Integer.MAX_VALUE;
 
     Queue<AmpState> ampStateQueue = new LinkedList<>();
-    ampStateQueue.add(this.initial);
+    ampStateQueue.add(initial);
 
     AmpState current = null;
     while ((current = ampStateQueue.poll()) != null) {
+      checkCancelled();
       if (minimumCost < current.cost) {
         continue;  // no need to look at a state that is already worse
       }
@@ -262,7 +266,7 @@ public class Day23 extends DayX {
       }
     }
 
-    return Result.createResult(minimumCost);
+    return minimumCost;
   }
 
   // ----
@@ -510,7 +514,7 @@ public class Day23 extends DayX {
     }
 
     boolean isSuccess() {
-      if (Arrays.stream(atHome).sum() == 4 * Day23.this.amphipodRows){
+      if (Arrays.stream(atHome).sum() == 4 * rooms[0].length){
         return true;
       }
       return false;
@@ -524,7 +528,7 @@ public class Day23 extends DayX {
     public AmpState clone(){
       char[][] copyRooms = new char[4][];
       for (int i = 0; i < copyRooms.length; i++) {
-        char[] room = new char[Day23.this.amphipodRows];
+        char[] room = new char[rooms[i].length];
         System.arraycopy(rooms[i], 0, room, 0, room.length);
         copyRooms[i] = room;
       }
@@ -591,12 +595,6 @@ public class Day23 extends DayX {
       setup(input);
     }
 
-    this.initial = this.startPart2;
-    this.amphipodRows = 4;
-    Result result = solve(input);
-    this.initial = this.startPart1;
-    this.amphipodRows = 2;
-
-    return result;
+    return Result.createResult(organize(this.startPart2));
   }
 }
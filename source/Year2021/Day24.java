@@ -228,13 +228,13 @@ package Year2021;
 import java.util.List;
 import java.util.LinkedList;
 import java.util.Deque;
-import java.util.regex.Pattern;
 import java.util.regex.Matcher;
 import java.util.stream.IntStream;
 import java.util.function.Function;
 
 import absbase.DayX;
 import util.Result;
+import util.Patterns;
 
 public class Day24 extends DayX {
 
@@ -288,12 +288,11 @@ public class Day24 extends DayX {
                    "mul y x" + "\\R" +
                    "add z y";
 
-    Pattern pattern = Pattern.compile(regex);
-    Matcher matcher = pattern.matcher(input);
+    Matcher matcher = Patterns.matcher(regex, input);
     IntStream
       .range(0, 14)
       .forEach(i -> {
-                      if (matcher.find()) {
+                      if (Patterns.find(matcher)) {
                         operations[i] = "26".equals(matcher.group(1))
                                           ? StackOperation.POP
                                           : StackOperation.PEEK;
@@ -17,10 +17,13 @@ package Year2021;
 
 import java.util.stream.IntStream;
 import java.util.regex.Pattern;
+import java.util.regex.Matcher;
+import java.util.NoSuchElementException;
 import java.util.function.BiPredicate;
 
 import absbase.DayX;
 import util.Result;
+import util.Patterns;
 
 public class Day3 extends DayX {
 
@@ -55,10 +58,7 @@ public class Day3 extends DayX {
     String[] regexArray = regexCreator(this.theLength);
 
     for (String regex : regexArray) {
-      Pattern pattern = Pattern.compile(regex, Pattern.MULTILINE);
-      long count = pattern.matcher(input)
-                          .results()
-                          .count();
+      long count = Patterns.count(Patterns.matcher(regex, Pattern.MULTILINE, input));
 
       gammaString.append(count > this.halfLineCount ? "1" : "0");
     }
@@ -136,10 +136,7 @@ public class Day3 extends DayX {
       // Then a new test is created appending a "1" to the search string.
       String testRegex = regexExtendStringWithOne(searchString.toString(), length);
 
-      Pattern pattern = Pattern.compile(testRegex, Pattern.MULTILINE);
-      long count = pattern.matcher(input)
-                          .results()
-                          .count();
+      long count = Patterns.count(Patterns.matcher(testRegex, Pattern.MULTILINE, input));
 
       if (threshold.test(count, totalCount)) { // this is where the predicate matters.
         searchString.append("1");
@@ -152,12 +149,11 @@ public class Day3 extends DayX {
         // we're done.. except we may not have the entire string.
         // Note: The testRegex cannot be reused, since it always appends with a "1" for the test.
         String lastRegex = regexExtendString(searchString.toString(), length);
-        searchResultString = Pattern.compile(lastRegex, Pattern.MULTILINE)
-                                    .matcher(input)
-                                    .results()
-                                    .findFirst()
-                                    .orElseThrow()
-                                    .group();
+        Matcher matcher = Patterns.matcher(lastRegex, Pattern.MULTILINE, input);
+        if (!Patterns.find(matcher)) {
+          throw new NoSuchElementException("No match for " + lastRegex);
+        }
+        searchResultString = matcher.group();
       }
     }
     return searchResultString;
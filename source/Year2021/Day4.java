@@ -15,15 +15,20 @@ package Year2021;
 
     Note that it's important to play all the boards through for any bingoNumber.
     Else there's a risk that for part 2, some of the boards will have missed that draw.
+
+  The "Tokenizer" alternative reads all the numbers in one scan with util.Tokenizer.
+  The draws are the numbers on the first line, followed by 25 numbers for each board.
 */
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.LinkedList;
 import java.util.ListIterator;
+import java.util.Map;
 
 import absbase.DayX;
 import util.Result;
+import util.Tokenizer;
 
 public class Day4 extends DayX {
 
@@ -44,6 +49,10 @@ public class Day4 extends DayX {
 
   public Day4(String[] args) {
     super(args);
+
+    this.alternatives =
+      Map.of("Split",     (i) -> solve(i),
+             "Tokenizer", (i) -> {setupTokenizer(i); return Result.createResult(play(true));});
   }
 
   // -----
@@ -59,6 +68,35 @@ public class Day4 extends DayX {
     this.bindgoNumberDraws = Arrays.stream(firstSplit[0].trim().split(","))
                                    .mapToInt(str -> Integer.parseInt(str))
                                    .toArray();
+    this.bingoNumberIndexAt = 0;
+  }
+
+  // -----
+  private void setupTokenizer(String input) {
+    int firstLineEnd = input.indexOf('\n');
+    this.bindgoNumberDraws = Tokenizer.ints(input.substring(0, firstLineEnd));
+    this.bingoNumberIndexAt = 0;
+
+    int[] values = Tokenizer.ints(input.substring(firstLineEnd));
+    int perBoard = boardSize * boardSize;
+
+    this.boards = new LinkedList<>();
+    for (int start = 0; start + perBoard <= values.length; start += perBoard) {
+      Board newBoard = new Board(maxNumber, boardDimension, boardSize);
+
+      for (int k = 0; k < perBoard; k++) {
+        int value = values[start + k];
+
+        // set the coordinates of the board on that element
+        newBoard.bingoNumbers[value][0] = k % boardSize;
+        newBoard.bingoNumbers[value][1] = k / boardSize;
+
+        // accumulate the sum on the board
+        newBoard.sum += value;
+      }
+
+      this.boards.add(newBoard);
+    }
   }
 
   // -----
@@ -167,6 +205,9 @@ public class Day4 extends DayX {
 
   // -----
   public Result solvePart2(String input) {
+    if (this.bindgoNumberDraws == null) {
+      setup(input);     // part 1 wasn't solved
+    }
     if (this.bingoNumberIndexAt == 0) {
       play(true);       // firstWin
     }
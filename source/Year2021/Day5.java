@@ -33,6 +33,14 @@ package Year2021;
        map.merge return the merged value, which is 2 only once :)
 
        Part 2 is handled in a similar way as with the grid solution.
+
+  The "GridTokenizer" alternative is the grid solution, but the coordinates are
+  read in one scan with util.Tokenizer instead of splitting every line with a regex.
+
+  The grid is used, unless the alternatives are selected per input with "-select".
+  Then both parts use the map when the largest coordinate makes the grid too large.
+  Otherwise they use the pair recorded by "-alt" as the fastest for inputs of the same size,
+  which is the grid if nothing was recorded.
 */
 
 import java.util.List;
@@ -44,9 +52,12 @@ import java.util.function.BiFunction;
 
 import absbase.DayX;
 import util.Result;
+import util.Tokenizer;
 
 public class Day5 extends DayX {
 
+  private static final long MAX_GRID_CELLS = 1L << 24;  // 64 MB of ints
+
   private int coordinateWidth;              // max grid value // = 1000;
   private int[][] inputCoordinates;         // contains arrays of [x1, y1, x2, y2]
   private int[][] inputCoordinatesDiagonal;
@@ -69,12 +80,35 @@ public class Day5 extends DayX {
     super(args);
 
     this.alternatives =
-      Map.of("Grid", (i) -> solveWithGrid(i),
-             "Map",  (i) -> solveWithMap(i));
+      Map.of("Grid",          (i) -> solveWithGrid(i),
+             "GridTokenizer", (i) -> {setupTokenizer(i); return solveGrid();},
+             "Map",           (i) -> solveWithMap(i));
 
     this.alternatives2 =
-      Map.of("Grid", (i) -> solvePart2WithGrid(i),
-             "Map",  (i) -> solvePart2WithMap(i));
+      Map.of("Grid",          (i) -> solvePart2WithGrid(i),
+             "Map",           (i) -> solvePart2WithMap(i));
+
+    this.pairs =
+      Map.of("Grid",          new String[]{"Grid", "Grid"},
+             "Map",           new String[]{"Map", "Map"});
+
+    this.selector = (i) -> selectByRange(i);
+  }
+
+  // ----- Note: only scans the digits, the coordinates aren't parsed
+  private String selectByRange(String input) {
+    long maxValue = 0;
+    long value = 0;
+    for (int i = 0; i < input.length(); i++) {
+      char c = input.charAt(i);
+      if (c >= '0' && c <= '9') {
+        value = Math.min(value * 10 + (c - '0'), Integer.MAX_VALUE);
+        maxValue = Math.max(maxValue, value);
+      } else {
+        value = 0;
+      }
+    }
+    return (maxValue + 1) * (maxValue + 1) > MAX_GRID_CELLS ? "Map" : null;  // null leaves it to the profile
   }
 
   // -----
@@ -103,6 +137,25 @@ public class Day5 extends DayX {
     this.inputCoordinates = intCoordinates;
   }
 
+  // -----
+  private void setupTokenizer(String input) {
+    int[] values = Tokenizer.ints(input);   // x1, y1, x2, y2, x1, y1, ..
+
+    int maxValue = 0;
+    int[][] intCoordinates = new int[values.length / 4][];
+
+    for (int i = 0; i < intCoordinates.length; i++) {
+      int[] range = Arrays.copyOfRange(values, i * 4, i * 4 + 4);
+      int maxCoordinate = findMax(range);
+      maxValue = maxValue < maxCoordinate ? maxCoordinate : maxValue;
+
+      intCoordinates[i] = range;
+    }
+
+    this.coordinateWidth = maxValue + 1;
+    this.inputCoordinates = intCoordinates;
+  }
+
   // -----
   private int findMax(int[] values) {
     return Arrays.stream(values)
@@ -112,13 +165,17 @@ public class Day5 extends DayX {
 
   // -----
   public Result solve(String input) {
-    return solveWithGrid(input);
-    // return solveWithMap(input);
+    return solveSelected(1, input, "Grid");
   }
 
   // -----
   private Result solveWithGrid(String input) {
     setup(input);
+    return solveGrid();
+  }
+
+  // -----
+  private Result solveGrid() {
     List<int[]> diagonals = new LinkedList<>();
 
     int overlapCount = 0;
@@ -202,8 +259,7 @@ public class Day5 extends DayX {
       solve(input);
     }
 
-    return solvePart2WithGrid(input);
-    // return solvePart2WithMap(input);
+    return solveSelected(2, input, "Grid");
   }
 
   // -----
@@ -108,8 +108,28 @@ package Year2021;
     while at 0 will give a total cost of f(8) + 9*f(0) = 36 + 0 = 36.
     Looking at hack nr. 2, the solution is the average of 0.8 ±1/2, hence between 0.3 and 1.3.
     The rounded range gives the distinct two values of either 0 or 1.
+
+  --- Histogram alternative (both parts) ---:
+    Instead of summing the cost of every crab for every candidate position,
+    count how many crabs sit at each position once. Then keep prefix sums over the positions of
+      C(p) = number of crabs at positions <= p
+      S(p) = sum of positions <= p
+      Q(p) = sum of squared positions <= p
+
+    The crabs at or left of p and those right of p can then be summed in one go:
+      linear(p)     = p * C(p) - S(p)  +  (Stotal - S(p)) - p * (N - C(p))
+      squares(p)    = p² * C(p) - 2p * S(p) + Q(p)  +  (Qtotal - Q(p)) - 2p * (Stotal - S(p)) + p² * (N - C(p))
+      triangular(p) = (squares(p) + linear(p)) / 2,  since f(d) = (d² + d) / 2
+
+    Every position is now evaluated in O(1), so scanning the whole range is
+    O(n + range) instead of O(n * range), with no boxing of the costs.
+
+    The terms of squares(p) add up to at most 8 * N * P², where P is the largest |position|.
+    With linear(p) that is below 9 * N * P². If that doesn't fit in a long,
+    the same sums are done with BigInteger, so a wrapped negative cost is never picked as the minimum.
 */
 
+import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.stream.IntStream;
@@ -117,6 +137,7 @@ import java.util.function.BiFunction;
 
 import absbase.DayX;
 import util.Result;
+import util.Tokenizer;
 
 public class Day7 extends DayX {
 
@@ -140,16 +161,25 @@ public class Day7 extends DayX {
 
     this.alternatives =
       Map.of(
-             "Brute",          (i) -> {setup(i);            return solveBrute(i, this.distance);},
-             "BruteAltSetup",  (i) -> {setupAlternative(i); return solveBrute(i, this.distance);},
-             "Median",         (i) -> {setup(i);            return solveWithMedian(i);},
-             "MedianAltSetup", (i) -> {setupAlternative(i); return solveWithMedian(i);}
+             "Brute",           (i) -> {setup(i);            return solveBrute(i, this.distance);},
+             "BruteAltSetup",   (i) -> {setupAlternative(i); return solveBrute(i, this.distance);},
+             "Median",          (i) -> {setup(i);            return solveWithMedian(i);},
+             "MedianAltSetup",  (i) -> {setupAlternative(i); return solveWithMedian(i);},
+             "MedianTokenizer", (i) -> {setupTokenizer(i);   return solveWithMedian(i);},
+             "Histogram",       (i) -> solveHistogram(i, false)
             );
 
     this.alternatives2 =
       Map.of(
-             "WithAverage",    (i) -> solvePart2WithAverage(i),
-             "Brute",          (i) -> solveBrute(i, this.triangularDistance)
+             "WithAverage",     (i) -> solvePart2WithAverage(i),
+             "Brute",           (i) -> solveBrute(i, this.triangularDistance),
+             "Histogram",       (i) -> solveHistogram(i, true)
+            );
+
+    this.pairs =
+      Map.of(
+             "Median",          new String[]{"Median", "WithAverage"},
+             "Histogram",       new String[]{"Histogram", "Histogram"}
             );
   }
 
@@ -171,10 +201,14 @@ public class Day7 extends DayX {
     this.crabs = position;
   }
 
+  // ----- Note: reads the positions in one scan without any split
+  private void setupTokenizer(String input) {
+    this.crabs = Tokenizer.ints(input);
+  }
+
   // -----
   public Result solve(String input) {
-    return solveWithMedian(input);
-    // return solveBrute(input, this.distance);
+    return solveSelected(1, input, "Median");  // the fastest pair recorded by -alt, with -select
   }
 
   // -----
@@ -238,8 +272,7 @@ public class Day7 extends DayX {
       setupAlternative(input);
     }
 
-    return solvePart2WithAverage(input);
-    // return solveBrute(input, this.triangularDistance);
+    return solveSelected(2, input, "WithAverage");
   }
 
   // -----
@@ -257,4 +290,111 @@ public class Day7 extends DayX {
            Math.min(calculateFuel(crabs, averageFloor, this.triangularDistance),
                     calculateFuel(crabs, averageFloor + 1, this.triangularDistance)));
   }
+
+  // -----
+  private Result solveHistogram(String input, boolean triangular) {
+    if (this.crabs == null) {
+      setup(input);
+    }
+
+    if (this.minPosition == Integer.MAX_VALUE) {
+      setMinMax();
+    }
+
+    int range = this.maxPosition - this.minPosition + 1;
+    int[] histogram = new int[range];
+    for (int crab : this.crabs) {
+      histogram[crab - this.minPosition]++;
+    }
+
+    long crabCount = this.crabs.length;
+    long largest = Math.max(Math.abs((long) this.minPosition), Math.abs((long) this.maxPosition));
+    if (crabCount > 0 && largest * largest > Long.MAX_VALUE / 9 / crabCount) {
+      return Result.createResult(solveHistogramExact(histogram, triangular));
+    }
+
+    long sumTotal = 0;
+    long squareTotal = 0;
+    for (int i = 0; i < range; i++) {
+      long position = i + this.minPosition;
+      sumTotal += histogram[i] * position;
+      squareTotal += histogram[i] * position * position;
+    }
+
+    // running prefix sums of count, position and squared position
+    long countLeft = 0;
+    long sumLeft = 0;
+    long squareLeft = 0;
+    long best = Long.MAX_VALUE;
+
+    for (int i = 0; i < range; i++) {
+      long position = i + this.minPosition;
+      countLeft += histogram[i];
+      sumLeft += histogram[i] * position;
+      squareLeft += histogram[i] * position * position;
+
+      long countRight = crabCount - countLeft;
+      long sumRight = sumTotal - sumLeft;
+
+      long linear = position * countLeft - sumLeft + sumRight - position * countRight;
+
+      long cost = linear;
+      if (triangular) {
+        long squares = position * position * countLeft - 2 * position * sumLeft + squareLeft
+                     + (squareTotal - squareLeft) - 2 * position * sumRight
+                     + position * position * countRight;
+        cost = (squares + linear) / 2;
+      }
+
+      best = Math.min(best, cost);
+    }
+
+    return Result.createResult(best);
+  }
+
+  // ----- Note: the same as solveHistogram, for sums that may not fit in a long
+  private long solveHistogramExact(int[] histogram, boolean triangular) {
+    BigInteger two = BigInteger.valueOf(2);
+
+    BigInteger crabCount = BigInteger.valueOf(this.crabs.length);
+    BigInteger sumTotal = BigInteger.ZERO;
+    BigInteger squareTotal = BigInteger.ZERO;
+    for (int i = 0; i < histogram.length; i++) {
+      BigInteger position = BigInteger.valueOf(i + (long) this.minPosition);
+      BigInteger count = BigInteger.valueOf(histogram[i]);
+      sumTotal = sumTotal.add(count.multiply(position));
+      squareTotal = squareTotal.add(count.multiply(position).multiply(position));
+    }
+
+    BigInteger countLeft = BigInteger.ZERO;
+    BigInteger sumLeft = BigInteger.ZERO;
+    BigInteger squareLeft = BigInteger.ZERO;
+    BigInteger best = null;
+
+    for (int i = 0; i < histogram.length; i++) {
+      BigInteger position = BigInteger.valueOf(i + (long) this.minPosition);
+      BigInteger count = BigInteger.valueOf(histogram[i]);
+      countLeft = countLeft.add(count);
+      sumLeft = sumLeft.add(count.multiply(position));
+      squareLeft = squareLeft.add(count.multiply(position).multiply(position));
+
+      BigInteger countRight = crabCount.subtract(countLeft);
+      BigInteger sumRight = sumTotal.subtract(sumLeft);
+
+      BigInteger linear = position.multiply(countLeft).subtract(sumLeft)
+                                  .add(sumRight).subtract(position.multiply(countRight));
+
+      BigInteger cost = linear;
+      if (triangular) {
+        BigInteger squares = position.multiply(position).multiply(crabCount)
+                                     .subtract(two.multiply(position).multiply(sumTotal))
+                                     .add(squareTotal);
+        cost = squares.add(linear).divide(two);
+      }
+
+      best = best == null ? cost : best.min(cost);
+    }
+
+    return best.longValueExact();  // throws if even the cheapest position costs more than a long
+  }
 }
@@ -64,17 +64,36 @@ package Year2021;
 
     Now it's relatively trivial to map each string-signal to its corresponding
     numeric value and computing the actual value of the "four digit output".
+
+  --- Bitmask alternative (both parts) ---:
+    Each signal is turned into a 7-bit mask, segment a being bit 0 to segment g being bit 6.
+    "Has all the segments of" then becomes (mask & other) == other,
+    and counting shared segments is Integer.bitCount(mask & other).
+
+    Only 1 and 4 are needed to identify any output digit directly:
+
+      size-5:  shares both segments of 1          -> 3
+               shares 3 segments with 4           -> 5
+               otherwise                          -> 2
+      size-6:  shares all 4 segments of 4         -> 9
+               shares both segments of 1          -> 0
+               otherwise                          -> 6
+
+    The input is scanned character by character without any regex or split.
+    It's cut into chunks at entry boundaries, a newline right after a signal,
+    since the newline after a "|" is part of an entry. The chunks are decoded in parallel.
 */
 
 import java.util.Arrays;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import absbase.DayX;
 import util.Result;
+import util.Patterns;
 
 public class Day8 extends DayX {
 
@@ -87,17 +106,29 @@ public class Day8 extends DayX {
 
   public Day8(String[] args) {
     super(args);
+
+    this.alternatives =
+      Map.of(
+             "Sets",    (i) -> solve(i),
+             "Bitmask", (i) -> solveBitmask(i, false)
+            );
+
+    this.alternatives2 =
+      Map.of(
+             "Sets",    (i) -> solvePart2(i),
+             "Bitmask", (i) -> solveBitmask(i, true)
+            );
   }
 
   // -----
   private void setup(String input) {
     // No clue why, but it refused to recognize these pipes: "(?<!\\|)\\R" or "(?<![\\|])\\R".
     // make sure to not split the signals on |\R
-    String[] firstSplit = input.split("(?<=[a-g])\\R");
+    String[] firstSplit = Patterns.get("(?<=[a-g])\\R").split(input);
 
     // this gets [["first ten digits", "first signal"], ["second ten digits", "second signal"], ..]
     this.inputSetup = Arrays.stream(firstSplit)
-                            .map(s -> s.split("\\s\\|\\R?\\s?"))
+                            .map(s -> Patterns.get("\\s\\|\\R?\\s?").split(s))
                             .toArray(String[][]::new);
   }
 
@@ -113,10 +144,8 @@ public class Day8 extends DayX {
                                 .collect(Collectors.joining(" "));
 
                                        // strings of length 2, 3, 4 or 7
-    Pattern pattern = Pattern.compile("\\b[a-g]{2}(?:[a-g]{5}|[a-g]{1,2})?\\b");
-    long result = pattern.matcher(justTheLast4)
-                         .results()
-                         .count();
+    long result = Patterns.count(Patterns.matcher("\\b[a-g]{2}(?:[a-g]{5}|[a-g]{1,2})?\\b",
+                                                  justTheLast4));
 
     return Result.createResult(result);
   }
@@ -229,4 +258,130 @@ public class Day8 extends DayX {
                  .mapToObj(e -> (char) e)
                  .collect(Collectors.toSet());
   }
+
+
+  // -----
+  private Result solveBitmask(String input, boolean part2) {
+    int[] chunkStarts = chunkStarts(input);
+
+    long result = IntStream.range(0, chunkStarts.length - 1)
+                           .parallel()
+                           .mapToLong(chunk -> decodeChunk(input,
+                                                           chunkStarts[chunk],
+                                                           chunkStarts[chunk + 1],
+                                                           part2))
+                           .sum();
+
+    return Result.createResult(result);
+  }
+
+  // splits the input into chunks that each start at the beginning of an entry.
+  // the last element is the length of the input.
+  private int[] chunkStarts(String input) {
+    int length = input.length();
+    int chunks = Math.max(1, Math.min(length / (1 << 16),
+                                      Runtime.getRuntime().availableProcessors() * 4));
+
+    int[] starts = new int[chunks + 1];
+    for (int chunk = 1; chunk < chunks; chunk++) {
+      int position = Math.max(starts[chunk - 1], chunk * (length / chunks));
+
+      // an entry ends with a newline right after a signal. Not after a "|"
+      while (position < length
+             && !(input.charAt(position) == '\n' && endsWithSignal(input, position))) {
+        position++;
+      }
+      starts[chunk] = Math.min(position + 1, length);
+    }
+    starts[chunks] = length;
+
+    return starts;
+  }
+
+  // true if the last character before the newline at position is a segment.
+  private boolean endsWithSignal(String input, int position) {
+    int before = position - 1;
+    if (before >= 0 && input.charAt(before) == '\r') {
+      before--;
+    }
+    return before >= 0 && input.charAt(before) >= 'a' && input.charAt(before) <= 'g';
+  }
+
+  // decodes all the entries from index "from" up to, but not including, "to".
+  // returns the count of 1, 4, 7 and 8 for part 1 or the sum of the outputs for part 2.
+  private long decodeChunk(String input, int from, int to, boolean part2) {
+    long result = 0;
+
+    int one = 0;
+    int four = 0;
+    boolean isOutput = false;
+    int outputCount = 0;
+    int output = 0;
+
+    int mask = 0;
+    int size = 0;
+
+    for (int i = from; i <= to; i++) {
+      char c = i < to ? input.charAt(i) : ' ';
+
+      if (c >= 'a' && c <= 'g') {
+        mask |= 1 << (c - 'a');
+        size++;
+        continue;
+      }
+
+      if (size > 0) {
+        if (!isOutput) {
+          if (size == 2) {
+            one = mask;
+          } else if (size == 4) {
+            four = mask;
+          }
+        } else if (part2) {
+          output = output * 10 + toDigit(mask, size, one, four);
+          outputCount++;
+        } else {
+          outputCount++;
+          if (size == 2 || size == 3 || size == 4 || size == 7) {
+            result++;
+          }
+        }
+
+        if (outputCount == 4) {
+          result += output;
+          isOutput = false;
+          outputCount = 0;
+          output = 0;
+        }
+
+        mask = 0;
+        size = 0;
+      }
+
+      if (c == '|') {
+        isOutput = true;
+      }
+    }
+
+    return result;
+  }
+
+  // identifies a digit from its mask using only the masks of 1 and 4.
+  private int toDigit(int mask, int size, int one, int four) {
+    switch (size) {
+      case 2: return 1;
+      case 3: return 7;
+      case 4: return 4;
+      case 7: return 8;
+      case 5: if ((mask & one) == one) {
+                return 3;
+              }
+              return Integer.bitCount(mask & four) == 3 ? 5 : 2;
+      case 6: if ((mask & four) == four) {
+                return 9;
+              }
+              return (mask & one) == one ? 0 : 6;
+      default: throw new AssertionError("Got a signal of size: " + size);
+    }
+  }
 }
@@ -57,6 +57,32 @@ package Year2021;
           So G is in the queue twice.
           However G will only be handled once.
           The second time it's polled, it will already be in the basin.
+
+  --- Part 2 union-find alternative ---:
+    Every point that isn't a 9 belongs to exactly one basin, so the basins are simply
+    the connected components of the non-9 points. No lowpoints are needed.
+
+    The floor is kept as one flat array, where the point (x, y) is at index y * length + x.
+    Another array "parent" holds a parent index for every point (or -1 for a 9).
+    Following parents up to a point that is its own parent gives the root of its basin.
+
+    In one raster pass every point is joined (union) with its west and north neighbor,
+    if they aren't 9's. Roots are always linked to the smaller index,
+    and paths are shortened every time a root is looked up (find).
+
+    To split the work the floor is cut into tiles of whole rows:
+
+        row 0   ..........      tile 1
+        row 1   ..........
+        ------------------  <-- seam
+        row 2   ..........      tile 2
+        row 3   ..........
+
+    Within a tile, the north neighbor is only joined if it's in the same tile.
+    Since all parents in a tile then point inside the tile, tiles can be labelled in parallel.
+    Afterwards the first row of every tile is joined with the last row of the tile above.
+
+    Finally each point adds 1 to the size of its root, and the three largest are multiplied.
 */
 
 import java.util.List;
@@ -67,6 +93,8 @@ import java.util.HashSet;
 import java.util.TreeSet;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 import absbase.DayX;
 import util.Result;
@@ -83,6 +111,12 @@ public class Day9 extends DayX {
 
   public Day9(String[] args) {
     super(args);
+
+    this.alternatives2 =
+      Map.of(
+             "FloodFill", (i) -> solvePart2(i),
+             "UnionFind", (i) -> solvePart2UnionFind(i)
+            );
   }
 
   // -----
@@ -193,4 +227,120 @@ public class Day9 extends DayX {
                                    .limit(3)
                                    .reduce(1, (a, b) -> a * b));
   }
+
+
+  // -----
+  private Result solvePart2UnionFind(String input) {
+    int length = input.indexOf('\n');
+    if (length < 0) {
+      length = input.length();
+    } else if (length > 0 && input.charAt(length - 1) == '\r') {
+      length--;
+    }
+
+    // the flat floor. Line breaks are skipped
+    byte[] heights = new byte[input.length()];
+    int size = 0;
+    for (int i = 0; i < input.length(); i++) {
+      char c = input.charAt(i);
+      if (c >= '0' && c <= '9') {
+        heights[size++] = (byte) (c - '0');
+      }
+    }
+
+    int width = size / length;
+    int[] parent = new int[size];
+
+    int tiles = Math.max(1, Math.min(width / 64, Runtime.getRuntime().availableProcessors()));
+    int rowsPerTile = (width + tiles - 1) / tiles;
+    int floorLength = length;
+
+    IntStream.range(0, tiles)
+             .parallel()
+             .forEach(tile -> labelTile(heights,
+                                        parent,
+                                        floorLength,
+                                        tile * rowsPerTile,
+                                        Math.min(width, (tile + 1) * rowsPerTile)));
+
+    // join the seams between the tiles
+    for (int row = rowsPerTile; row < width; row += rowsPerTile) {
+      for (int x = 0; x < length; x++) {
+        int point = row * length + x;
+        int north = point - length;
+        if (heights[point] != 9 && heights[north] != 9) {
+          union(parent, point, north);
+        }
+      }
+    }
+
+    int[] basinSizes = new int[size];
+    for (int point = 0; point < size; point++) {
+      if (heights[point] != 9) {
+        basinSizes[find(parent, point)]++;
+      }
+    }
+
+    // keep the three largest
+    long first = 0;
+    long second = 0;
+    long third = 0;
+    for (int basinSize : basinSizes) {
+      if (basinSize > first) {
+        third = second;
+        second = first;
+        first = basinSize;
+      } else if (basinSize > second) {
+        third = second;
+        second = basinSize;
+      } else if (basinSize > third) {
+        third = basinSize;
+      }
+    }
+
+    return Result.createResult(first * second * third);
+  }
+
+  // labels the rows from "fromRow" up to, but not including, "toRow".
+  private void labelTile(byte[] heights, int[] parent, int length, int fromRow, int toRow) {
+    for (int y = fromRow; y < toRow; y++) {
+      for (int x = 0; x < length; x++) {
+        int point = y * length + x;
+
+        if (heights[point] == 9) {
+          parent[point] = -1;
+          continue;
+        }
+
+        parent[point] = point;
+
+        if (x > 0 && heights[point - 1] != 9) {
+          union(parent, point, point - 1);
+        }
+        if (y > fromRow && heights[point - length] != 9) {
+          union(parent, point, point - length);
+        }
+      }
+    }
+  }
+
+  // links the root with the higher index to the root with the lower index.
+  private void union(int[] parent, int a, int b) {
+    int rootA = find(parent, a);
+    int rootB = find(parent, b);
+    if (rootA < rootB) {
+      parent[rootB] = rootA;
+    } else if (rootB < rootA) {
+      parent[rootA] = rootB;
+    }
+  }
+
+  // finds the root while halving the path on the way.
+  private int find(int[] parent, int point) {
+    while (parent[point] != point) {
+      parent[point] = parent[parent[point]];
+      point = parent[point];
+    }
+    return point;
+  }
 }
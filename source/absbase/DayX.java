@@ -41,6 +41,22 @@ public abstract class DayX implements DayI {
   protected ResultI resultPart2;
 
 
+  /**
+   * How long the solvers of both parts together may run in milli seconds. 0 for no timeout.
+   */
+  protected long timeout = 0;
+
+  /**
+   * The {@link System#nanoTime()} when the running solver times out.
+   */
+  private volatile long deadline;
+
+  /**
+   * <code>true</code> if the running solvers have been asked to stop.
+   */
+  private volatile boolean cancelled = false;
+
+
   /**
    * Alternative solvers for part 1.
    *
@@ -65,6 +81,53 @@ public abstract class DayX implements DayI {
    */
   protected Map<String, Function<String, Result>> alternatives2 = Map.of();
 
+  /**
+   * Pairs of alternatives that can be selected per input, by name.
+   * Used by {@link #solveSelected(int, String, String)}.
+   *
+   * <p>Default set to an empty map: {@link java.util.Map#of()}
+   *
+   * <p> Both parts of a day are selected together, since part 2 often builds on what
+   * part 1 left behind. Each pair holds the key of an alternative of part 1 and of part 2.
+   * For example:
+   *
+   * <pre>
+   *    this.pairs =
+   *      Map.of("Fast", new String[]{"Fast", "FastPart2"},
+   *             "Slow", new String[]{"Slow", "Slow"});</pre>
+   */
+  protected Map<String, String[]> pairs = Map.of();
+
+  /**
+   * Selects a pair of {@link #pairs} from cheap features of the input, like its size
+   * or the range of its coordinates.
+   *
+   * <p>Default set to <code>null</code>, selecting by the {@link util.AlternativeProfile} only.
+   *
+   * <p> The function returns the name of a pair, or <code>null</code> to leave it
+   * to the {@link util.AlternativeProfile}. For example:
+   *
+   * <pre>
+   *    this.selector = (i) -&gt; i.length() &lt; 1000 ? "Slow" : "Fast";</pre>
+   */
+  protected Function<String, String> selector = null;
+
+  /**
+   * <code>true</code> if a pair of alternatives is selected per input.
+   * Otherwise {@link #solveSelected(int, String, String)} always uses its fallback.
+   */
+  protected boolean selecting = false;
+
+  /**
+   * The part to solve, 1 or 2. 0 to solve both parts.
+   */
+  private int part = 0;
+
+  /**
+   * The keys of the alternatives selected for part 1 and part 2 of the input being solved.
+   */
+  private String[] selected = {"", ""};
+
 
   /**
    * Calls the solvers and prints their results.
@@ -118,6 +181,9 @@ public abstract class DayX implements DayI {
    *  <li> {@link util.DataReader#readFile(String, Consumer) DataReader.readFile(String, Consumer&lt;String&gt;)} to read the input</li>
    *  <li> {@link util.Timers#timeItResult Timers.timeItResult(Function&lt;T,Result&gt;, T)} to time the runs</li>
    * </ul>
+   *
+   * <p> If {@link util.ResultCache} is enabled, the solvers are only called when
+   * the class or the input has changed since the results were cached.
    */
   public void daySolver() {
     // String input = DataReader.readFile(this.file);
@@ -125,15 +191,220 @@ public abstract class DayX implements DayI {
                                            (in) -> this.setInput(in));
 
     if (Status.FILE_OK.equals(fileStatus.getStatus())) {
-
-      this.result = Timers.timeItResult((in) -> solve(in), this.input);
-      this.resultPart2 = Timers.timeItResult((in) -> solvePart2(in), this.input);
-
+      solveInput();
     } else {
       this.result = Result.createFileErrorResult(fileStatus);
     }
   }
 
+  /**
+   * Responsible for calling the solvers on the given input.
+   *
+   * <p> The same as {@link #daySolver()}, except the input isn't read from the input file.
+   *
+   * @param input the input to solve.
+   */
+  public void daySolver(String input) {
+    this.setInput(input);
+    solveInput();
+  }
+
+  /**
+   * Responsible for calling the solvers on the given input without changing this instance.
+   *
+   * <p> Solvers keep their parsed input and other state in instance variables, so they
+   * aren't reentrant. Instead the input is solved by a new worker instance from {@link #newWorker()},
+   * one per call, and the worker holding the results is returned. Since this instance isn't
+   * changed, many threads may call it with different inputs.
+   *
+   * @param input the input to solve.
+   * @return the worker {@link base.DayI} with the results of the input.
+   */
+  public DayI solveReentrant(String input) {
+    DayX worker = newWorker();
+    worker.timeout = this.timeout;
+    worker.selecting = this.selecting;
+    worker.daySolver(input);
+    return worker;
+  }
+
+  /**
+   * Creates a new instance of the implementing class to solve one input.
+   *
+   * <p> The instance is created with {@link util.Classes#createClass(String, String, String[])}
+   * and an empty {@link String} array of arguments.
+   * Override it if the implementing class has no such constructor.
+   *
+   * @throws IllegalStateException if the instance cannot be created.
+   * @return a new instance of the implementing class.
+   */
+  protected DayX newWorker() {
+    DayI worker = Classes.createClass(getClass().getSimpleName(),
+                                      getClass().getPackageName(),
+                                      new String[0]);
+    if (!(worker instanceof DayX)) {
+      throw new IllegalStateException("Cannot create a worker of " + getClass().getName());
+    }
+    return (DayX) worker;
+  }
+
+  /**
+   * Calls the solvers on the {@link #input} and times them.
+   *
+   * <p> If {@link util.ResultCache} is enabled, the solvers are only called when
+   * the class or the input has changed since the results were cached.
+   *
+   * <p> If a {@link #timeout} is set, the run times of both parts together must stay within it.
+   * Only the solvers count against it, not reading, caching or recording around them.
+   * Results of cancelled solvers aren't cached.
+   *
+   * <p> If only one {@link #part} is solved, the other part gets a
+   * {@link base.Status#NO_RESULT} result and nothing is cached.
+   *
+   * <p> Records a {@link util.FlightEvents.DayEvent} around it.
+   */
+  private void solveInput() {
+    FlightEvents.DayEvent event = FlightEvents.beginDay();
+    this.selected = new String[]{"", ""};
+    if (ResultCache.isEnabled()) {
+      Result[] cached = ResultCache.lookup(this, this.input);
+      if (cached != null) {
+        this.result = cached[0];
+        this.resultPart2 = cached[1];
+        FlightEvents.commitDay(event, this, this.input, true);
+        return;
+      }
+    }
+
+    this.selected = selectPair(this.input);  // before the solvers, so it doesn't count as their time
+    this.cancelled = false;
+    long timeLeft = this.timeout * 1000000;
+
+    this.result = this.part == 2
+                    ? Result.createDummyResult()
+                    : solveCancellable(1, (in) -> solve(in), timeLeft);
+    if (this.result.isTimed()) {
+      timeLeft -= this.result.getNanoTime();
+    }
+    this.resultPart2 = this.part == 1
+                         ? Result.createDummyResult()
+                         : solveCancellable(2, (in) -> solvePart2(in), timeLeft);
+    FlightEvents.commitDay(event, this, this.input, false);
+
+    if (this.part != 0
+        || this.result.getState().getStatus() == Status.TIMED_OUT
+        || this.resultPart2.getState().getStatus() == Status.TIMED_OUT) {
+      return;
+    }
+
+    if (ResultCache.isEnabled()) {
+      ResultCache.store(this, this.input, this.result, this.resultPart2);
+    }
+  }
+
+  /**
+   * Calls a solver on the {@link #input} and times it.
+   *
+   * <p> Records a {@link util.FlightEvents.PartEvent} around it and adds it to {@link util.SolverMetrics}.
+   * The deadline starts after the event has begun, so only the solver counts against it.
+   *
+   * @param part 1 for part 1, 2 for part 2.
+   * @param solver the solver of the part.
+   * @param timeLeft the nano seconds left of the {@link #timeout}. Ignored if there's no timeout.
+   * @return the {@link util.Result} of the solver,
+   * or a {@link base.Status#TIMED_OUT} result if it was cancelled.
+   */
+  private Result solveCancellable(int part, Function<String, Result> solver, long timeLeft) {
+    FlightEvents.PartEvent event = FlightEvents.beginPart();
+    Result partResult;
+    long startTime = System.nanoTime();
+    this.deadline = startTime + timeLeft;
+    try {
+      checkCancelled();  // part 2 doesn't start after part 1 used up the time
+      partResult = Timers.timeItResult(solver, this.input);
+    } catch (CancelledException ex) {
+      partResult = Result.createTimedOutResult(System.nanoTime() - startTime);
+    }
+    FlightEvents.commitPart(event, this, part, getSelectedAlternative(part), this.input, partResult);
+    SolverMetrics.record(this, part, getSelectedAlternative(part), partResult);
+    return partResult;
+  }
+
+  /**
+   * Stops a solver if it has been cancelled or has passed the {@link #timeout}.
+   *
+   * <p> Solvers that may run for a long time should call this in their main loop.
+   * It's cheap enough to be called for every step of a search.
+   *
+   * @throws CancelledException if the solver must stop.
+   */
+  protected void checkCancelled() {
+    if (this.cancelled
+        || (this.timeout > 0 && System.nanoTime() - this.deadline > 0)) {
+      throw new CancelledException();
+    }
+  }
+
+  /**
+   * Solves a part with the alternative selected for the input.
+   *
+   * <p> Only if {@link #selecting} is set, the pair of alternatives for both parts
+   * is selected before solving, by the first of
+   * <ol>
+   *   <li>the {@link #selector}, from features of the input.</li>
+   *   <li>the {@link util.AlternativeProfile}, from the run times of the pairs recorded by
+   *       {@link #runVersusAlternatives(int)} for inputs of about the same size.</li>
+   * </ol>
+   * Otherwise, or if neither selects a pair, the given fallback is used.
+   * The key of a selected alternative is printed along with the result.
+   *
+   * <p>Usage from an implementing class:
+   * <pre>
+   *    public Result solve(String input) {
+   *      return solveSelected(1, input, "Fast");
+   *    }</pre>
+   *
+   * @param part 1 for part 1, 2 for part 2.
+   * @param input the entire input text for the puzzle.
+   * @param fallback the key of the alternative used if none is selected.
+   * @return the {@link util.Result} of the selected alternative.
+   * @throws IllegalArgumentException if fallback isn't a key of the alternatives of the part.
+   */
+  protected Result solveSelected(int part, String input, String fallback) {
+    Map<String, Function<String, Result>> partAlternatives = part == 1 ? this.alternatives : this.alternatives2;
+    if (!partAlternatives.containsKey(fallback)) {
+      throw new IllegalArgumentException("No alternative " + fallback + " for part " + part);
+    }
+
+    String name = this.selected[part - 1];
+    if (!partAlternatives.containsKey(name)) {
+      name = fallback;
+      if (this.selecting) {
+        this.selected[part - 1] = name;
+      }
+    }
+    return partAlternatives.get(name).apply(input);
+  }
+
+  /**
+   * Selects the pair of alternatives for both parts of an input.
+   *
+   * @param input the input to be solved.
+   * @return the keys of the alternatives of part 1 and part 2,
+   * or empty {@link String}s if {@link #selecting} isn't set or no pair was selected.
+   */
+  private String[] selectPair(String input) {
+    if (!this.selecting || this.pairs.isEmpty()) {
+      return new String[]{"", ""};
+    }
+
+    String name = this.selector == null ? null : this.selector.apply(input);
+    if (name == null || !this.pairs.containsKey(name)) {
+      name = AlternativeProfile.fastest(this, input, this.pairs.keySet());
+    }
+    return name == null ? new String[]{"", ""} : this.pairs.get(name).clone();
+  }
+
   // -----
   /**
    * Responsible for calling the solvers and printing the result.
@@ -146,6 +417,7 @@ public abstract class DayX implements DayI {
       daySolver();
     }
     printers.forEach(runnable -> runnable.run());
+    Printers.flush();
   }
 
   /**
@@ -160,6 +432,11 @@ public abstract class DayX implements DayI {
    * <pre>
    *     "No alternatives defined"</pre>
    *
+   * <p> If there are {@link #pairs}, each pair also solves both parts on a new worker
+   * instance, like a selected pair does. Only these run times are recorded in the
+   * {@link util.AlternativeProfile}, since the alternatives of a part alone may reuse
+   * what the alternative before them left behind.
+   *
    * @param iterations int specifying how many loops to run.
    */
   public void runVersusAlternatives(int iterations) {
@@ -179,17 +456,38 @@ public abstract class DayX implements DayI {
 
     for (int k = 0; k < iterations; k++) {
       for (Map.Entry<String, Function<String, Result>> entry : this.alternatives.entrySet()) {
+        FlightEvents.PartEvent event = FlightEvents.beginPart();
         this.result = Timers.timeItResult(entry.getValue(), this.input);
+        FlightEvents.commitPart(event, this, 1, entry.getKey(), this.input, this.result);
+        SolverMetrics.record(this, 1, entry.getKey(), this.result);
         Printers.printResult(entry.getKey(), true, true, this);
       }
       this.result = null; // reset it to not include the last one in prints for Part2.
 
       for (Map.Entry<String, Function<String, Result>> entry : this.alternatives2.entrySet()) {
+        FlightEvents.PartEvent event = FlightEvents.beginPart();
         this.resultPart2 = Timers.timeItResult(entry.getValue(), this.input);
+        FlightEvents.commitPart(event, this, 2, entry.getKey(), this.input, this.resultPart2);
+        SolverMetrics.record(this, 2, entry.getKey(), this.resultPart2);
         Printers.printResult(entry.getKey(), true, true, this);
       }
       this.resultPart2 = null; // reset it to not include the last one in prints for Part1.
+
+      for (Map.Entry<String, String[]> entry : this.pairs.entrySet()) {
+        DayX worker = newWorker();  // nothing left behind by the alternatives above
+        worker.selected = entry.getValue().clone();
+        worker.setInput(this.input);
+        Result pairResult = Timers.timeItResult((in) -> worker.solve(in), this.input);
+        Result pairResultPart2 = Timers.timeItResult((in) -> worker.solvePart2(in), this.input);
+        worker.setResults(pairResult, pairResultPart2);
+        AlternativeProfile.record(this, entry.getKey(), this.input, pairResult, pairResultPart2);
+        Printers.printResult("pair " + entry.getKey(), true, true, worker);
+      }
+
+      Printers.printPatternStatistics(Classes.getClassNameWithYear(this));
+      Printers.flush();
     }
+    AlternativeProfile.save();
   }
 
 
@@ -248,6 +546,60 @@ public abstract class DayX implements DayI {
     this.input = input;
   }
 
+  /**
+   * Sets the {@link #result} and {@link #resultPart2} instance variables.
+   *
+   * <p> Used when the day has been solved somewhere else, like in a child JVM.
+   *
+   * @param result the {@link base.ResultI} for part 1.
+   * @param resultPart2 the {@link base.ResultI} for part 2. May be <code>null</code>.
+   */
+  public void setResults(ResultI result, ResultI resultPart2) {
+    this.result = result;
+    this.resultPart2 = resultPart2;
+  }
+
+  /**
+   * Sets the {@link #selecting} instance variable.
+   *
+   * @param selecting <code>true</code> to select the alternatives per input.
+   */
+  public void setSelecting(boolean selecting) {
+    this.selecting = selecting;
+  }
+
+  /**
+   * Sets the {@link #part} instance variable.
+   *
+   * @param part 1 or 2 to solve only that part, 0 to solve both parts.
+   */
+  public void setPart(int part) {
+    this.part = part;
+  }
+
+  /**
+   * Sets the {@link #timeout} instance variable.
+   *
+   * @param milliSeconds the timeout in milli seconds. 0 for no timeout.
+   * @throws IllegalArgumentException if the timeout is negative.
+   */
+  public void setTimeout(long milliSeconds) {
+    if (milliSeconds < 0) {
+      throw new IllegalArgumentException("Cannot time out after " + milliSeconds + " milli");
+    }
+    this.timeout = milliSeconds;
+  }
+
+  /**
+   * Asks the running solvers to stop.
+   *
+   * <p> The solvers stop the next time they call {@link #checkCancelled()}.
+   * Solvers not calling it, run to the end.
+   */
+  public void cancel() {
+    this.cancelled = true;
+  }
+
 
   // ----- Getters
   /**
@@ -266,6 +618,23 @@ public abstract class DayX implements DayI {
     return this.resultPart2;
   }
 
+  /**
+   * Gets the path of the input file.
+   * @return the path in {@link #fileName}.
+   */
+  public String getInputFileName() {
+    return this.fileName.getfileName();
+  }
+
+  /**
+   * Gets the alternative selected by {@link #solveSelected(int, String, String)}.
+   * @param part 1 for part 1, 2 for part 2.
+   * @return the key of the selected alternative, or an empty {@link String} if none was selected.
+   */
+  public String getSelectedAlternative(int part) {
+    return this.selected[part - 1];
+  }
+
 
   /**
    * Solution to part 1.
@@ -292,4 +661,27 @@ public abstract class DayX implements DayI {
     return Result.createDummyResult();
   }
 
+
+  /**
+   * Thrown by {@link DayX#checkCancelled()} to stop a solver.
+   *
+   * @author  GraysColour
+   * @version 1.0
+   * @since   1.0
+   */
+  protected static class CancelledException extends RuntimeException {
+
+    /**
+     * Version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the exception without a stack trace, since it's only used to unwind the solver.
+     */
+    protected CancelledException() {
+      super("cancelled", null, false, false);
+    }
+  }
+
 }
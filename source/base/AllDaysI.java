@@ -43,4 +43,45 @@ public interface AllDaysI {
    * @param years a {@link String} of comma separated 4 digit years
    */
   void setPackageNames(String years);
+
+  /**
+   * Used by {@link util.CommandLineOptions}.
+   *
+   * <p> Sets how many days are solved at the same time, each in its own child JVM.
+   * 0 solves all days in this JVM.
+   *
+   * @param forks the number of child JVMs running at the same time.
+   */
+  void setForks(int forks);
+
+  /**
+   * Used by {@link util.CommandLineOptions}.
+   *
+   * <p> Sets the flags of the child JVMs.
+   * <p> For example:
+   * <pre>
+   *     setJvmFlags("-Xmx1g -XX:+UseSerialGC")</pre>
+   *
+   * @param flags a {@link String} of space separated JVM flags.
+   */
+  void setJvmFlags(String flags);
+
+  /**
+   * Used by {@link util.CommandLineOptions}.
+   *
+   * <p> Sets the class data sharing archive used by the child JVMs.
+   *
+   * @param archive the path of the archive, like "target/advent-of-code-1.0.jsa".
+   */
+  void setSharedArchive(String archive);
+
+  /**
+   * Used by {@link util.CommandLineOptions}.
+   *
+   * <p> Sets how many days ahead the input files are read while solving a day.
+   * 0 reads each input file right before solving it.
+   *
+   * @param days the number of days to read ahead.
+   */
+  void setPrefetch(int days);
 }
@@ -66,4 +66,88 @@ public interface DayI {
    * <p> Responsible for reading the input file and calling the solvers.
    */
   void daySolver();
+
+  /**
+   * Used by {@link SolverDaemon}.
+   *
+   * <p> Responsible for calling the solvers on the given input instead of reading the input file.
+   *
+   * @param input the input to solve.
+   */
+  void daySolver(String input);
+
+  /**
+   * Used by {@link SolverDaemon} and {@link util.BatchRunner}.
+   *
+   * <p> Responsible for calling the solvers on the given input without changing this instance.
+   * The input is solved by a new instance, one per call, since the solvers keep
+   * their parsed input in instance variables.
+   *
+   * @param input the input to solve.
+   * @return a {@link base.DayI} with the results of the input.
+   */
+  DayI solveReentrant(String input);
+
+  /**
+   * Used by {@link util.CommandLineOptions}.
+   *
+   * <p> Sets how long the solvers of both parts together may run.
+   * Solvers running longer are cancelled and get a {@link base.Status#TIMED_OUT} result.
+   *
+   * @param milliSeconds the timeout in milli seconds. 0 for no timeout.
+   */
+  void setTimeout(long milliSeconds);
+
+  /**
+   * Used by {@link util.CommandLineOptions}.
+   *
+   * <p> Sets whether the alternatives of both parts are selected per input, see {@link absbase.DayX}.
+   *
+   * @param selecting <code>true</code> to select the alternatives per input.
+   */
+  void setSelecting(boolean selecting);
+
+  /**
+   * Used by {@link SolverDaemon}.
+   *
+   * <p> Sets the part to solve. The other part isn't solved and has no result.
+   * Solvers of part 2 solve what they need of part 1 themselves.
+   *
+   * @param part 1 or 2 to solve only that part, 0 to solve both parts.
+   */
+  void setPart(int part);
+
+  /**
+   * Asks the running solvers to stop.
+   *
+   * <p> Solvers are cancelled the next time they check, and get a {@link base.Status#TIMED_OUT} result.
+   */
+  void cancel();
+
+  /**
+   * Used by {@link util.ForkRunner}.
+   *
+   * <p> Sets the results of solving the day somewhere else, like in a child JVM.
+   *
+   * @param result the {@link base.ResultI} for part 1.
+   * @param resultPart2 the {@link base.ResultI} for part 2. May be <code>null</code>.
+   */
+  void setResults(ResultI result, ResultI resultPart2);
+
+  /**
+   * Used by {@link util.InputPrefetcher}.
+   *
+   * @return the path of the input file.
+   */
+  String getInputFileName();
+
+  /**
+   * Used by {@link util.Printers}.
+   *
+   * <p> Returns the alternative that was selected to solve a part, see {@link absbase.DayX}.
+   *
+   * @param part 1 for part 1, 2 for part 2.
+   * @return the name of the selected alternative, or an empty {@link String} if none was selected.
+   */
+  String getSelectedAlternative(int part);
 }
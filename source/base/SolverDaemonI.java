@@ -0,0 +1,39 @@
+package base;
+
+/**
+ * The interface for the solver daemon {@link SolverDaemon} in the unnamed/default package.
+ *
+ * @author  GraysColour
+ * @version 1.0
+ * @since   1.0
+ */
+
+public interface SolverDaemonI {
+  /**
+   * Used by {@link util.CommandLineOptions}.
+   *
+   * <p> Sets the local port to listen on.
+   *
+   * @param port the port number.
+   */
+  void setPort(int port);
+
+  /**
+   * Used by {@link util.CommandLineOptions}.
+   *
+   * <p> Sets how many times each day is solved on its default input before
+   * accepting requests. <code>0</code> skips the warm up.
+   *
+   * @param warmups the number of warm up runs per day.
+   */
+  void setWarmups(int warmups);
+
+  /**
+   * Used by {@link util.CommandLineOptions}.
+   *
+   * <p> Sets the package names for discovering YearYYYY packages, where YYYY is a 4 digit year.
+   *
+   * @param years a {@link String} of comma separated 4 digit years
+   */
+  void setPackageNames(String years);
+}
@@ -60,5 +60,13 @@ public enum Status {
    * <p> This is an error {@link Status}.
    * <p><i>Note: There may be a long of <code>0L</code>, but it's not representative.</i>
    */
-  GOT_EXCEPTION;
+  GOT_EXCEPTION,
+
+  /**
+   * The solvers were cancelled, since they ran past the timeout.
+   *
+   * <p> This is an error {@link Status}.
+   * <p><i>Note: There may be a long of <code>0L</code>, but it's not representative.</i>
+   */
+  TIMED_OUT;
 }
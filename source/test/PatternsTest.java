@@ -0,0 +1,82 @@
+package test;
+
+/*
+  Tests the registry of compiled regular expressions in util.Patterns:
+    - a regular expression is compiled once and then taken from the registry.
+    - the registry keeps at most Patterns.MAX_PATTERNS patterns,
+      dropping the least recently used one.
+    - every call gets its own Matcher, so matchers don't keep their input alive.
+*/
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import util.Patterns;
+
+// https://junit.org/junit5/docs/current/user-guide
+
+public class PatternsTest {
+
+  @Test
+  @DisplayName("A regular expression is compiled once")
+  void compiledOnce() {
+    Pattern pattern = Patterns.get("PatternsTest compiledOnce \\d+");
+    long compileCount = Patterns.getCompileCount();
+
+    assertSame(pattern, Patterns.get("PatternsTest compiledOnce \\d+"));
+    assertEquals(compileCount, Patterns.getCompileCount());
+  }
+
+  @Test
+  @DisplayName("The flags are part of the key")
+  void flagsArePartOfTheKey() {
+    Pattern plain = Patterns.get("PatternsTest flags ^a$");
+    Pattern multiline = Patterns.get("PatternsTest flags ^a$", Pattern.MULTILINE);
+
+    assertNotSame(plain, multiline);
+    assertEquals(Pattern.MULTILINE, multiline.flags());
+  }
+
+  @Test
+  @DisplayName("The registry drops the least recently used pattern")
+  void registryIsBounded() {
+    Pattern first = Patterns.get("PatternsTest bounded first");
+    for (int i = 0; i < Patterns.MAX_PATTERNS; i++) {
+      Patterns.get("PatternsTest bounded " + i);
+    }
+    long compileCount = Patterns.getCompileCount();
+
+    Pattern again = Patterns.get("PatternsTest bounded first");
+
+    assertNotSame(first, again);
+    assertEquals(compileCount + 1, Patterns.getCompileCount());
+  }
+
+  @Test
+  @DisplayName("Every call gets its own Matcher")
+  void matcherIsNotReused() {
+    Matcher first = Patterns.matcher("PatternsTest (\\d+)", "PatternsTest 12");
+    Matcher second = Patterns.matcher("PatternsTest (\\d+)", "PatternsTest 34");
+
+    assertNotSame(first, second);
+    assertTrue(Patterns.find(first));
+    assertTrue(Patterns.find(second));
+    assertEquals("12", first.group(1));
+    assertEquals("34", second.group(1));
+  }
+
+  @Test
+  @DisplayName("count counts the remaining matches")
+  void countMatches() {
+    assertEquals(3, Patterns.count(Patterns.matcher("\\d+", "1 22 x 333")));
+    assertEquals(2, Patterns.count(Patterns.matcher("^\\d", Pattern.MULTILINE, "1\nx\n3")));
+  }
+
+}
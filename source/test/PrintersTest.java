@@ -0,0 +1,88 @@
+package test;
+
+/*
+  Tests the json and csv records of util.Printers:
+    - a valid part gets a record with its result.
+    - a timed out part gets a record with the status TIMED_OUT,
+      also when the other part is valid.
+    - if neither part has a result, only the error of part 1 is included.
+*/
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import base.*;
+import util.Classes;
+import util.Printers;
+import util.Result;
+import util.State;
+
+// https://junit.org/junit5/docs/current/user-guide
+
+public class PrintersTest {
+
+  // -----
+  private DayI dayWith(ResultI result, ResultI resultPart2) {
+    DayI dayI = Classes.createClass("Day1", "Year2021", new String[0]);
+    dayI.setResults(result, resultPart2);
+    return dayI;
+  }
+
+  @Test
+  @DisplayName("Both valid parts get a record")
+  void bothValid() {
+    List<String> records = Printers.toRecords(Printers.Format.JSON, "",
+                                              dayWith(Result.createResult(7), Result.createResult(5)));
+
+    assertEquals(2, records.size());
+    assertTrue(records.get(0).contains("\"part\":1,"));
+    assertTrue(records.get(0).contains("\"result\":\"7\""));
+    assertTrue(records.get(1).contains("\"part\":2,"));
+    assertTrue(records.get(1).contains("\"result\":\"5\""));
+  }
+
+  @Test
+  @DisplayName("A timed out part 2 gets a record after a valid part 1")
+  void timedOutPart2() {
+    DayI dayI = dayWith(Result.createResult(7), Result.createTimedOutResult(100000000L));
+
+    List<String> json = Printers.toRecords(Printers.Format.JSON, "", dayI);
+    assertEquals(2, json.size());
+    assertTrue(json.get(1).contains("\"part\":2,"));
+    assertTrue(json.get(1).contains("\"status\":\"TIMED_OUT\""));
+    assertTrue(json.get(1).contains("\"nanoTime\":100000000"));
+
+    List<String> csv = Printers.toRecords(Printers.Format.CSV, "", dayI);
+    assertEquals(2, csv.size());
+    assertTrue(csv.get(1).contains(",2,,TIMED_OUT,"));
+  }
+
+  @Test
+  @DisplayName("Both parts timed out get a record each")
+  void bothTimedOut() {
+    List<String> records = Printers.toRecords(Printers.Format.JSON, "",
+                                              dayWith(Result.createTimedOutResult(100),
+                                                      Result.createTimedOutResult(0)));
+
+    assertEquals(2, records.size());
+    assertTrue(records.get(0).contains("\"status\":\"TIMED_OUT\""));
+    assertTrue(records.get(1).contains("\"status\":\"TIMED_OUT\""));
+  }
+
+  @Test
+  @DisplayName("Without results only the error of part 1 is included")
+  void onlyError() {
+    ResultI error = Result.createFileErrorResult(new State(Status.NO_FILE).withMessage("no file"));
+    List<String> records = Printers.toRecords(Printers.Format.JSON, "",
+                                              dayWith(error, Result.createDummyResult()));
+
+    assertEquals(1, records.size());
+    assertTrue(records.get(0).contains("\"part\":1,"));
+    assertTrue(records.get(0).contains("\"status\":\"NO_FILE\""));
+  }
+
+}
@@ -0,0 +1,83 @@
+package test;
+
+/*
+  Tests reading numbers with util.Tokenizer:
+    - without separators, anything that isn't a digit separates numbers,
+      and a '-' in front of a digit is a sign unless it follows a digit.
+    - with separators, any other character is a NumberFormatException.
+    - text and bytes give the same numbers, as ints or longs.
+    - the returned arrays grow past their initial size and are trimmed to size.
+*/
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+
+import util.Tokenizer;
+
+// https://junit.org/junit5/docs/current/user-guide
+
+public class TokenizerTest {
+
+  @Test
+  @DisplayName("Anything that isn't a digit separates numbers")
+  void withoutSeparators() {
+    assertArrayEquals(new int[]{0, 9, 5, 9}, Tokenizer.ints("0,9 -> 5,9"));
+    assertArrayEquals(new int[]{-5, 47, 3, -1}, Tokenizer.ints("on x=-5..47,y=3..-1"));
+    assertArrayEquals(new int[]{0, -1, -1, 2}, Tokenizer.ints("--- scanner 0 ---\n-1,-1\n2"));
+  }
+
+  @Test
+  @DisplayName("A '-' after a digit isn't a sign")
+  void minusAfterDigit() {
+    assertArrayEquals(new int[]{3, 1}, Tokenizer.ints("3-1"));
+    assertArrayEquals(new int[]{}, Tokenizer.ints("- -"));
+  }
+
+  @Test
+  @DisplayName("Only the separators may separate numbers")
+  void withSeparators() {
+    assertArrayEquals(new int[]{16, -1, 2}, Tokenizer.ints("16,-1\n\n2", ",\n"));
+    assertThrows(NumberFormatException.class, () -> Tokenizer.ints("1,x,2", ","));
+    assertThrows(NumberFormatException.class, () -> Tokenizer.ints("1,-,2", ","));
+  }
+
+  @Test
+  @DisplayName("Text and bytes give the same numbers")
+  void textAndBytes() {
+    String input = "199\n200\n-208\n";
+    byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+
+    assertArrayEquals(Tokenizer.ints(input), Tokenizer.ints(bytes));
+    assertArrayEquals(Tokenizer.longs(input), Tokenizer.longs(bytes));
+    assertArrayEquals(new long[]{199, 200, -208}, Tokenizer.longs(input, "\n"));
+  }
+
+  @Test
+  @DisplayName("Longs aren't narrowed to ints")
+  void longsKeepTheirValue() {
+    assertArrayEquals(new long[]{3000000000L, -3000000000L}, Tokenizer.longs("3000000000 -3000000000"));
+  }
+
+  @Test
+  @DisplayName("The arrays grow and are trimmed to size")
+  void growsAndTrims() {
+    StringBuilder input = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      input.append(i).append('\n');
+    }
+
+    int[] ints = Tokenizer.ints(input);
+    long[] longs = Tokenizer.longs(input);
+
+    assertEquals(1000, ints.length);
+    assertEquals(1000, longs.length);
+    assertEquals(999, ints[999]);
+    assertEquals(999L, longs[999]);
+  }
+
+}
@@ -0,0 +1,248 @@
+package util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Properties;
+
+import base.*;
+
+/**
+ * Stored run times of the pairs of alternatives of {@link base.DayI} implementations, by input size.
+ *
+ * <p> {@link base.DayI#runVersusAlternatives(int)} records the run time of every pair,
+ * solving both parts on a new instance. A {@link absbase.DayX} selecting its alternatives
+ * then picks the pair with the shortest recorded run time, for inputs of about the same size.
+ *
+ * <p> Inputs are grouped in size classes by the number of bits of their length,
+ * so 1000 and 2000 characters are different classes. If no alternative was recorded
+ * for the size class of an input, the closest size class with records is used.
+ *
+ * <p> The profile is the file "alternativeprofile.properties" in the class path directory
+ * next to config.properties, see {@link util.DataReader#getRunDir()}. Each entry is
+ * the shortest run time of both parts seen in nano seconds:
+ * <pre>Year2021.Day7.s11.Median=151200</pre>
+ *
+ * <p> The profile is only read when selecting is asked for with <code>-select</code>,
+ * so the default solvers don't depend on it.
+ *
+ * <p> Usage from {@link absbase.DayX}:
+ * <pre>
+ *     AlternativeProfile.record(dayI, "Median", input, result, resultPart2);
+ *     AlternativeProfile.save();
+ *     ...
+ *     String fastest = AlternativeProfile.fastest(dayI, input, pairs.keySet());</pre>
+ *
+ * @author  GraysColour
+ * @version 1.0
+ * @since   1.0
+ */
+
+public class AlternativeProfile {
+
+  /**
+   * The name of the profile file.
+   */
+  private static final String PROFILE_FILE = "alternativeprofile.properties";
+
+  /**
+   * The recorded run times. Loaded the first time they're needed.
+   */
+  private static Properties entries;
+
+  /**
+   * <code>true</code> if {@link #entries} has changed since it was loaded.
+   */
+  private static boolean changed = false;
+
+  /**
+   * @hidden
+   */
+  private AlternativeProfile() {}
+
+
+  /**
+   * Records the run time of a pair of alternatives, if it's the shortest for its size class.
+   *
+   * <p> Only recorded if both parts are valid and timed.
+   *
+   * @param dayI the {@link base.DayI} of the pair.
+   * @param pair the name of the pair.
+   * @param input the solved input.
+   * @param result the {@link base.ResultI} of part 1 with its run time.
+   * @param resultPart2 the {@link base.ResultI} of part 2 with its run time.
+   */
+  public static synchronized void record(DayI dayI, String pair, String input,
+                                         ResultI result, ResultI resultPart2) {
+    if (input == null || !isTimed(result) || !isTimed(resultPart2)) {
+      return;
+    }
+    long nanoTime = result.getNanoTime() + resultPart2.getNanoTime();
+    String key = prefix(dayI) + sizeClass(input.length()) + "." + pair;
+
+    Properties profile = entries();
+    String recorded = profile.getProperty(key);
+    try {
+      if (recorded != null && Long.parseLong(recorded) <= nanoTime) {
+        return;
+      }
+    } catch (NumberFormatException ex) {
+      // replaced below
+    }
+    profile.setProperty(key, String.valueOf(nanoTime));
+    changed = true;
+  }
+
+  /**
+   * Returns the pair with the shortest recorded run time for inputs of about the same size.
+   *
+   * @param dayI the {@link base.DayI} of the pairs.
+   * @param input the input to be solved.
+   * @param pairs the names of the pairs to choose from.
+   * @return the name of the fastest pair, or <code>null</code> if none was recorded.
+   */
+  public static synchronized String fastest(DayI dayI, String input, Collection<String> pairs) {
+    Properties profile = entries();
+    if (profile.isEmpty() || input == null) {
+      return null;
+    }
+
+    String prefix = prefix(dayI);
+    int sizeClass = sizeClass(input.length());
+    for (int distance = 0; distance <= 32; distance++) {
+      String fastest = fastest(profile, prefix, sizeClass - distance, pairs);
+      if (fastest == null && distance > 0) {
+        fastest = fastest(profile, prefix, sizeClass + distance, pairs);
+      }
+      if (fastest != null) {
+        return fastest;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Writes the profile file if anything was recorded.
+   *
+   * <p> Errors are printed, but otherwise ignored.
+   */
+  public static synchronized void save() {
+    if (!changed) {
+      return;
+    }
+
+    Path path = profilePath();
+    try {
+      if (path.getParent() != null) {
+        Files.createDirectories(path.getParent());
+      }
+      try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+        entries.store(writer, "Shortest run times of pairs of alternatives in nano seconds. Recorded by -alt.");
+      }
+      changed = false;
+    } catch (IOException ex) {
+      System.out.println("Cannot write " + path + ": " + ex.getMessage());
+    }
+  }
+
+
+  /**
+   * Returns the pair with the shortest recorded run time in a size class.
+   *
+   * @param profile the recorded run times.
+   * @param prefix the property name prefix of the day, like "Year2021.Day7.s".
+   * @param sizeClass the size class.
+   * @param pairs the names of the pairs to choose from.
+   * @return the name of the fastest pair, or <code>null</code> if none was recorded.
+   */
+  private static String fastest(Properties profile, String prefix, int sizeClass, Collection<String> pairs) {
+    if (sizeClass < 0 || sizeClass > 32) {
+      return null;
+    }
+
+    String fastest = null;
+    long fastestNanoTime = Long.MAX_VALUE;
+    for (String pair : pairs) {
+      String recorded = profile.getProperty(prefix + sizeClass + "." + pair);
+      if (recorded == null) {
+        continue;
+      }
+      try {
+        long nanoTime = Long.parseLong(recorded);
+        if (nanoTime < fastestNanoTime) {
+          fastest = pair;
+          fastestNanoTime = nanoTime;
+        }
+      } catch (NumberFormatException ex) {
+        // ignore the entry
+      }
+    }
+    return fastest;
+  }
+
+  /**
+   * Returns the recorded run times. Loads them from the profile file the first time.
+   *
+   * @return the recorded run times.
+   */
+  private static Properties entries() {
+    if (entries != null) {
+      return entries;
+    }
+
+    entries = new Properties();
+    Path path = profilePath();
+    if (Files.exists(path)) {
+      try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+        entries.load(reader);
+      } catch (IOException | IllegalArgumentException ex) {
+        entries.clear();
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * Returns the path of the profile file in the class path directory.
+   *
+   * @return the {@link java.nio.file.Path} of the profile file.
+   */
+  private static Path profilePath() {
+    return Path.of(DataReader.getRunDir(), PROFILE_FILE);
+  }
+
+  /**
+   * Returns the property name prefix of a day.
+   *
+   * @param dayI the {@link base.DayI}.
+   * @return the prefix, like "Year2021.Day7.s".
+   */
+  private static String prefix(DayI dayI) {
+    return dayI.getClass().getName() + ".s";
+  }
+
+  /**
+   * Checks if a result can be recorded.
+   *
+   * @param result the {@link base.ResultI} or <code>null</code>.
+   * @return <code>true</code> if the result is valid and timed.
+   */
+  private static boolean isTimed(ResultI result) {
+    return result != null && result.isValid() && result.isTimed();
+  }
+
+  /**
+   * Returns the size class of an input.
+   *
+   * @param length the length of the input.
+   * @return the number of bits of the length.
+   */
+  private static int sizeClass(int length) {
+    return 32 - Integer.numberOfLeadingZeros(length);
+  }
+
+}
@@ -0,0 +1,263 @@
+package util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * An {@link java.io.OutputStream} that writes on a background thread.
+ *
+ * <p> Writes are collected in a large buffer. A full buffer, or a {@link #flush()},
+ * hands the collected bytes to a single writer thread, in order, and returns at once.
+ * So the printing thread never waits for the console or the disk, and the output
+ * keeps the order it was printed in.
+ *
+ * <p> {@link #drain()} waits until everything handed over has been written.
+ * An {@link java.io.IOException} of the writer thread is thrown by the next
+ * {@link #flush()} or {@link #drain()}.
+ *
+ * <p> Usage from {@link util.Printers}:
+ * <pre>
+ *     AsyncWriter writer = new AsyncWriter(System.out, AsyncWriter.BUFFER_SIZE);
+ *     PrintStream target = new PrintStream(writer, false);
+ *     ... print, and flush after each day ...
+ *     writer.drain();</pre>
+ *
+ * @author  GraysColour
+ * @version 1.0
+ * @since   1.0
+ */
+
+public class AsyncWriter extends OutputStream {
+
+  /**
+   * The default size of the buffer, 64 KB.
+   */
+  public static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Where the writer thread writes to.
+   */
+  private final OutputStream out;
+
+  /**
+   * The bytes not yet handed to the writer thread.
+   */
+  private final byte[] buffer;
+
+  /**
+   * The number of bytes in {@link #buffer}.
+   */
+  private int count;
+
+  /**
+   * The single writer thread, writing the handed over bytes in order.
+   */
+  private final ExecutorService writer;
+
+  /**
+   * The first {@link java.io.IOException} of the writer thread. <code>null</code> if none.
+   */
+  private volatile IOException failure;
+
+  /**
+   * <code>true</code> after {@link #close()}.
+   */
+  private boolean closed = false;
+
+
+  /**
+   * Starts the writer thread.
+   *
+   * @param out where the writer thread writes to.
+   * @param bufferSize the size of the buffer in bytes.
+   * @throws IllegalArgumentException if bufferSize isn't positive.
+   */
+  public AsyncWriter(OutputStream out, int bufferSize) {
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("Cannot buffer " + bufferSize + " bytes");
+    }
+    this.out = out;
+    this.buffer = new byte[bufferSize];
+    this.writer = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "AsyncWriter");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+
+  /**
+   * Buffers a byte.
+   *
+   * @param b the byte.
+   * @throws IOException if the writer is closed.
+   */
+  @Override
+  public synchronized void write(int b) throws IOException {
+    checkOpen();
+    if (this.count == this.buffer.length) {
+      handOver();
+    }
+    this.buffer[this.count++] = (byte) b;
+  }
+
+  /**
+   * Buffers bytes. Bytes that don't fit in the buffer are handed over directly.
+   *
+   * @param b the bytes.
+   * @param off the offset of the first byte.
+   * @param len the number of bytes.
+   * @throws IOException if the writer is closed.
+   */
+  @Override
+  public synchronized void write(byte[] b, int off, int len) throws IOException {
+    checkOpen();
+    if (len > this.buffer.length - this.count) {
+      handOver();
+    }
+    if (len >= this.buffer.length) {
+      byte[] chunk = Arrays.copyOfRange(b, off, off + len);
+      this.writer.execute(() -> writeChunk(chunk));
+      return;
+    }
+    System.arraycopy(b, off, this.buffer, this.count, len);
+    this.count += len;
+  }
+
+  /**
+   * Hands the buffered bytes to the writer thread, which then flushes {@link #out}.
+   *
+   * <p> Doesn't wait for the writer thread.
+   *
+   * @throws IOException if the writer is closed or the writer thread failed.
+   */
+  @Override
+  public synchronized void flush() throws IOException {
+    checkOpen();
+    handOver();
+    this.writer.execute(() -> {
+      try {
+        this.out.flush();
+      } catch (IOException ex) {
+        fail(ex);
+      }
+    });
+    checkFailure();
+  }
+
+  /**
+   * Hands the buffered bytes to the writer thread and waits until all of it is written and flushed.
+   *
+   * @throws IOException if the writer thread failed.
+   */
+  public void drain() throws IOException {
+    Future<?> done;
+    synchronized (this) {
+      if (this.closed) {
+        return;
+      }
+      handOver();
+      done = this.writer.submit(() -> {
+        try {
+          this.out.flush();
+        } catch (IOException ex) {
+          fail(ex);
+        }
+      });
+    }
+
+    try {
+      done.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while draining", ex);
+    } catch (ExecutionException ex) {
+      throw new IOException("Cannot drain", ex.getCause());
+    }
+    checkFailure();
+  }
+
+  /**
+   * Drains the writer and stops the writer thread.
+   *
+   * <p> {@link #out} is flushed but not closed, since it may be {@link java.lang.System#out}.
+   *
+   * @throws IOException if the writer thread failed.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      drain();
+    } finally {
+      synchronized (this) {
+        this.closed = true;
+        this.writer.shutdown();
+      }
+    }
+  }
+
+
+  /**
+   * Hands the buffered bytes to the writer thread.
+   */
+  private void handOver() {
+    if (this.count == 0) {
+      return;
+    }
+    byte[] chunk = Arrays.copyOf(this.buffer, this.count);
+    this.count = 0;
+    this.writer.execute(() -> writeChunk(chunk));
+  }
+
+  /**
+   * Writes handed over bytes to {@link #out}. Runs on the writer thread.
+   *
+   * @param chunk the bytes.
+   */
+  private void writeChunk(byte[] chunk) {
+    try {
+      this.out.write(chunk);
+    } catch (IOException ex) {
+      fail(ex);
+    }
+  }
+
+  /**
+   * Keeps the first failure of the writer thread.
+   *
+   * @param ex the {@link java.io.IOException} of the writer thread.
+   */
+  private void fail(IOException ex) {
+    if (this.failure == null) {
+      this.failure = ex;
+    }
+  }
+
+  /**
+   * Throws the failure of the writer thread, if any.
+   *
+   * @throws IOException the failure of the writer thread.
+   */
+  private void checkFailure() throws IOException {
+    if (this.failure != null) {
+      throw this.failure;
+    }
+  }
+
+  /**
+   * Checks that the writer isn't closed.
+   *
+   * @throws IOException if the writer is closed.
+   */
+  private void checkOpen() throws IOException {
+    if (this.closed) {
+      throw new IOException("AsyncWriter is closed");
+    }
+  }
+
+}
@@ -0,0 +1,262 @@
+package util;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import base.*;
+
+/**
+ * Solves one {@link base.DayI} for many input files with a pool of workers.
+ *
+ * <p> The input files are either all files in a directory or the files matching a glob,
+ * like <code>"inputs/**&#47;Day1*.txt"</code>. Each file is solved by a new instance of the {@link base.DayI}
+ * through {@link base.DayI#solveReentrant(String)}, since the solvers keep their parsed input in instance variables.
+ *
+ * <p> The result of each file is printed with {@link util.Printers#printResult(String, boolean, boolean, DayI)}
+ * in the order of the file names, using the file name in place of the alternative name.
+ * The throughput and the latency percentiles are printed last with
+ * {@link util.Printers#printBatchSummary(String, int, long, long, long[])}.
+ * The latency of a file includes reading it.
+ *
+ * <p> A file whose solver throws gets a {@link base.Status#GOT_EXCEPTION} result,
+ * and the other files are still solved.
+ *
+ * @author  GraysColour
+ * @version 1.0
+ * @since   1.0
+ */
+
+public class BatchRunner {
+
+  /**
+   * @hidden
+   */
+  private BatchRunner() {}
+
+
+  /**
+   * Solves a {@link base.DayI} for every input file of a directory or glob.
+   *
+   * <p>Usage:
+   *
+   * <pre>
+   *     dayI.setRunMe(() -&gt; BatchRunner.run(dayI, "inputs/*.txt", 8, true))</pre>
+   *
+   * @param dayI the {@link base.DayI} that solves the files.
+   * @param directoryOrGlob a directory or a glob of input files.
+   * @param workers the number of files solved at the same time.
+   * @param printTime <code>true</code> if the run time of each file is printed.
+   */
+  public static void run(DayI dayI, String directoryOrGlob, int workers, boolean printTime) {
+    String name = Classes.getClassNameWithYear(dayI);
+
+    List<Path> files;
+    try {
+      files = findFiles(directoryOrGlob);
+    } catch (IOException | RuntimeException ex) {
+      System.out.println(name + "  - cannot list " + directoryOrGlob + ": " + ex);
+      return;
+    }
+    if (files.isEmpty()) {
+      System.out.println(name + "  - no input files in " + directoryOrGlob);
+      return;
+    }
+
+    ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, workers));
+    long startTime = System.nanoTime();
+
+    List<Future<Solved>> futures = new ArrayList<>(files.size());
+    for (Path file : files) {
+      futures.add(pool.submit(() -> solve(dayI, file)));
+    }
+
+    long bytes = 0;
+    long[] latencies = new long[files.size()];
+    try {
+      for (int i = 0; i < futures.size(); i++) {
+        Solved solved;
+        try {
+          solved = futures.get(i).get();  // in file order, as soon as it's done
+        } catch (ExecutionException ex) {  // an Error, the solver's exceptions are in its result
+          solved = new Solved(files.get(i), failed(dayI, ex.getCause()), 0, 0);
+        }
+        Printers.printResult(solved.file.getFileName().toString(), printTime, true, solved.dayI);
+        latencies[i] = solved.nanoTime;
+        bytes += solved.bytes;
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      System.out.println(name + "  - batch interrupted: " + ex);
+      return;
+    } finally {
+      pool.shutdownNow();
+    }
+
+    Printers.printBatchSummary(name, files.size(), bytes, System.nanoTime() - startTime, latencies);
+    Printers.flush();
+  }
+
+
+  /**
+   * Reads and solves one input file.
+   *
+   * <p> If the file cannot be read, it's solved by a new instance of the {@link base.DayI}
+   * reading the file, so the file error is in its result like when running a single day.
+   * If the solver throws, the exception is in the result instead.
+   *
+   * @param dayI the {@link base.DayI} that solves the file.
+   * @param file the input file.
+   * @return the solved {@link base.DayI} with its latency and the size of the file.
+   */
+  private static Solved solve(DayI dayI, Path file) {
+    long startTime = System.nanoTime();
+
+    String[] input = new String[1];
+    State fileStatus = DataReader.readFile(file.toString(), (in) -> input[0] = in);
+
+    DayI solved;
+    try {
+      if (Status.FILE_OK.equals(fileStatus.getStatus())) {
+        solved = dayI.solveReentrant(input[0]);
+      } else {
+        solved = newInstance(dayI, new String[]{"-f", file.toString()});
+        solved.daySolver();
+      }
+    } catch (RuntimeException | AssertionError ex) {
+      solved = failed(dayI, ex);
+    }
+    long nanoTime = System.nanoTime() - startTime;
+
+    long bytes = 0;
+    try {
+      bytes = Files.size(file);
+    } catch (IOException ex) {
+      // the error is already in the result of the day
+    }
+    return new Solved(file, solved, nanoTime, bytes);
+  }
+
+  /**
+   * Creates a new instance of the {@link base.DayI} holding an exception of its solver.
+   *
+   * @param dayI the {@link base.DayI} that solved the file.
+   * @param ex the exception, or the error, of the solver.
+   * @return a new {@link base.DayI} with a {@link base.Status#GOT_EXCEPTION} result for part 1.
+   */
+  private static DayI failed(DayI dayI, Throwable ex) {
+    Exception exception = ex instanceof Exception ? (Exception) ex : new IllegalStateException(ex.toString(), ex);
+    DayI failed = newInstance(dayI, new String[0]);
+    failed.setResults(Result.createFileErrorResult(new State(Status.GOT_EXCEPTION).withException(exception)), null);
+    return failed;
+  }
+
+  /**
+   * Creates a new instance of the {@link base.DayI}.
+   *
+   * @param dayI the {@link base.DayI} that solves the files.
+   * @param args the arguments of the new instance.
+   * @return the new {@link base.DayI}.
+   */
+  private static DayI newInstance(DayI dayI, String[] args) {
+    return Classes.createClass(Classes.getSimpleClassName(dayI),
+                               dayI.getClass().getPackageName(),
+                               args);
+  }
+
+  /**
+   * Finds the input files.
+   *
+   * <p> A directory gives the regular files directly in it.
+   * Anything else is a glob, searched from the directory before the first glob character.
+   *
+   * @param directoryOrGlob a directory or a glob of input files.
+   * @throws IOException if a directory cannot be read.
+   * @return the files sorted by their path.
+   */
+  private static List<Path> findFiles(String directoryOrGlob) throws IOException {
+    Path directory = Path.of(directoryOrGlob);
+    if (Files.isDirectory(directory)) {
+      try (Stream<Path> paths = Files.list(directory)) {
+        return paths.filter(Files::isRegularFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+      }
+    }
+
+    // the part of the glob without glob characters, like "inputs" in "inputs/**/*.txt"
+    String normalized = directoryOrGlob.replace('\\', '/');
+    int firstGlob = normalized.length();
+    for (char c : new char[]{'*', '?', '[', '{'}) {
+      int at = normalized.indexOf(c);
+      if (at >= 0 && at < firstGlob) {
+        firstGlob = at;
+      }
+    }
+    int lastSeparator = normalized.lastIndexOf('/', firstGlob);
+    Path base = lastSeparator < 0 ? Path.of(".") : Path.of(normalized.substring(0, lastSeparator + 1));
+
+    PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + normalized);
+    try (Stream<Path> paths = Files.walk(base)) {
+      return paths.filter(Files::isRegularFile)
+                  .filter(path -> matcher.matches(lastSeparator < 0 ? base.relativize(path) : path))
+                  .sorted()
+                  .collect(Collectors.toList());
+    }
+  }
+
+
+  /**
+   * A solved input file.
+   *
+   * @author  GraysColour
+   * @version 1.0
+   * @since   1.0
+   */
+  private static class Solved {
+
+    /**
+     * The input file.
+     */
+    private final Path file;
+
+    /**
+     * The {@link base.DayI} that solved the file.
+     */
+    private final DayI dayI;
+
+    /**
+     * Nano seconds to read and solve the file.
+     */
+    private final long nanoTime;
+
+    /**
+     * The size of the file in bytes.
+     */
+    private final long bytes;
+
+    /**
+     * @param file the input file.
+     * @param dayI the {@link base.DayI} that solved the file.
+     * @param nanoTime nano seconds to read and solve the file.
+     * @param bytes the size of the file in bytes.
+     */
+    private Solved(Path file, DayI dayI, long nanoTime, long bytes) {
+      this.file = file;
+      this.dayI = dayI;
+      this.nanoTime = nanoTime;
+      this.bytes = bytes;
+    }
+  }
+
+}
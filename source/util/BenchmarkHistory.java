@@ -0,0 +1,407 @@
+package util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+
+import base.*;
+
+/**
+ * Keeps a history of run times of {@link base.DayI} implementations.
+ *
+ * <p> Each run of {@link AllDays} appends one JSON line per day to the file
+ * "benchmarkhistory.jsonl" in the class path directory next to config.properties,
+ * see {@link util.DataReader#getRunDir()}. For example:
+ * <pre>{"run":"2026-10-19T15:40:59.123Z","year":"2021","day":"Day1","mode":"in-process","input":"9f86d0...","nanoTime1":257300,"nanoTime2":9694100}</pre>
+ * The input is the hash of the input file, see {@link util.ResultCache#inputHash(String)}, and the mode
+ * is "fork" if the day was solved in a child JVM, otherwise "in-process".
+ *
+ * <p> When comparing, the run times of a day are compared to the
+ * mean of the same day in the last runs in the history. Only runs with the same input and
+ * mode are compared, since a new input or a fresh JVM changes the run times. A change is only
+ * flagged when it is larger than the noise threshold, which is the largest of
+ * <ul>
+ *   <li>two standard deviations of the earlier run times</li>
+ *   <li>{@value #MIN_PERCENT} percent of the mean</li>
+ *   <li>{@value #MIN_NANOS} nano seconds</li>
+ * </ul>
+ *
+ * @author  GraysColour
+ * @version 1.0
+ * @since   1.0
+ */
+
+public class BenchmarkHistory {
+
+  /**
+   * The name of the history file.
+   */
+  private static final String HISTORY_FILE = "benchmarkhistory.jsonl";
+
+  /**
+   * The smallest change in percent of the mean that is flagged.
+   */
+  public static final int MIN_PERCENT = 10;
+
+  /**
+   * The smallest change in nano seconds that is flagged.
+   */
+  public static final long MIN_NANOS = 50000;
+
+  /**
+   * Identifies the run. The time this class was loaded.
+   */
+  private static final String runId = Instant.now().toString();
+
+  /**
+   * The mode of a day solved in a child JVM.
+   */
+  private static final String FORK = "fork";
+
+  /**
+   * The mode of a day solved in this JVM.
+   */
+  private static final String IN_PROCESS = "in-process";
+
+  /**
+   * The JSON lines of this run not yet appended to the history file.
+   */
+  private static final List<String> recorded = new ArrayList<>();
+
+  /**
+   * The keys of the recorded days in {@link #earlier} keyed by their class names.
+   */
+  private static final Map<String, String> recordedKeys = new HashMap<>();
+
+  /**
+   * The number of earlier runs to compare to. 0 if not comparing.
+   */
+  private static int compareRuns = 0;
+
+  /**
+   * Run times of earlier runs keyed by "year/day/mode/input", oldest first.
+   * Each entry has the <b>part 1</b> run time at index 0 and
+   * the <b>part 2</b> run time at index 1. Loaded the first time they're needed.
+   */
+  private static Map<String, List<long[]>> earlier;
+
+  /**
+   * @hidden
+   */
+  private BenchmarkHistory() {}
+
+
+  // ---- Setters
+  /**
+   * Sets how many earlier runs to compare to.
+   *
+   * @param runs the number of runs. 0 turns off comparing.
+   * @throws IllegalArgumentException if runs is negative.
+   */
+  public static void setCompareRuns(int runs) {
+    if (runs < 0) {
+      throw new IllegalArgumentException("Cannot compare to " + runs + " runs");
+    }
+    BenchmarkHistory.compareRuns = runs;
+    BenchmarkHistory.earlier = null;
+  }
+
+
+  // ---- Getters
+  /**
+   * Returns <code>true</code> if run times are compared to earlier runs.
+   *
+   * @return <code>true</code> if comparing.
+   */
+  public static boolean isComparing() {
+    return compareRuns > 0;
+  }
+
+  /**
+   * Returns how many earlier runs are compared to.
+   *
+   * @return the number of runs.
+   */
+  public static int getCompareRuns() {
+    return compareRuns;
+  }
+
+
+  /**
+   * Records the run times of a {@link base.DayI} for this run.
+   *
+   * <p> Only timed and valid results are recorded. Nothing is written
+   * until {@link #save()} is called.
+   *
+   * @param dayI a {@link base.DayI} that's run its solutions.
+   * @param forked <code>true</code> if the day was solved in a child JVM.
+   */
+  public static void record(DayI dayI, boolean forked) {
+    long nanoTime1 = nanoTime(dayI.getResult());
+    long nanoTime2 = nanoTime(dayI.getResultPart2());
+    if (nanoTime1 < 0 && nanoTime2 < 0) {
+      return;
+    }
+
+    String inputHash = inputHash(dayI);
+    if (inputHash == null) {
+      return;
+    }
+
+    String mode = forked ? FORK : IN_PROCESS;
+    recordedKeys.put(dayI.getClass().getName(),
+                     key(year(dayI), Classes.getSimpleClassName(dayI), mode, inputHash));
+    recorded.add("{\"run\":\"" + runId + "\"" +
+                 ",\"year\":\"" + year(dayI) + "\"" +
+                 ",\"day\":\"" + Classes.getSimpleClassName(dayI) + "\"" +
+                 ",\"mode\":\"" + mode + "\"" +
+                 ",\"input\":\"" + inputHash + "\"" +
+                 ",\"nanoTime1\":" + (nanoTime1 < 0 ? "null" : nanoTime1) +
+                 ",\"nanoTime2\":" + (nanoTime2 < 0 ? "null" : nanoTime2) + "}");
+  }
+
+  /**
+   * Appends the recorded run times to the history file.
+   *
+   * <p> Errors are printed, but otherwise ignored.
+   */
+  public static void save() {
+    if (recorded.isEmpty()) {
+      return;
+    }
+
+    Path path = historyPath();
+    try {
+      if (path.getParent() != null) {
+        Files.createDirectories(path.getParent());
+      }
+      Files.write(path, recorded, StandardCharsets.UTF_8,
+                  StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      recorded.clear();
+    } catch (IOException ex) {
+      System.out.println("Cannot write " + path + ": " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Compares the run times of a {@link base.DayI} to earlier runs.
+   *
+   * <p> Example of a comparison:
+   * <pre>part 1 +35% slower, part 2 -20% faster</pre>
+   * Parts that haven't changed more than the noise threshold are left out.
+   * If there are no earlier runs of the day with the same input and mode, "new" is returned.
+   *
+   * @param dayI a {@link base.DayI} that's run its solutions and been recorded,
+   *             see {@link #record(DayI, boolean)}.
+   * @return the flagged changes or an empty {@link String}.
+   */
+  public static String compare(DayI dayI) {
+    String key = recordedKeys.get(dayI.getClass().getName());
+    if (key == null) {  // nothing was timed
+      return "";
+    }
+
+    List<long[]> runs = earlier().get(key);
+    if (runs == null || runs.isEmpty()) {
+      return "new";
+    }
+
+    String part1 = compare(1, nanoTime(dayI.getResult()), runs);
+    String part2 = compare(2, nanoTime(dayI.getResultPart2()), runs);
+    return part1.isEmpty() || part2.isEmpty()
+             ? part1 + part2
+             : part1 + ", " + part2;
+  }
+
+
+  /**
+   * Compares a run time to the same part in earlier runs.
+   *
+   * @param part 1 for part 1, 2 for part 2.
+   * @param nanoTime the run time in nano seconds or -1 if there is none.
+   * @param runs the earlier run times.
+   * @return the flagged change or an empty {@link String}.
+   */
+  private static String compare(int part, long nanoTime, List<long[]> runs) {
+    if (nanoTime < 0) {
+      return "";
+    }
+
+    double sum = 0;
+    int count = 0;
+    for (long[] run : runs) {
+      if (run[part - 1] >= 0) {
+        sum += run[part - 1];
+        count++;
+      }
+    }
+    if (count == 0) {
+      return "";
+    }
+
+    double mean = sum / count;
+    double squares = 0;
+    for (long[] run : runs) {
+      if (run[part - 1] >= 0) {
+        squares += (run[part - 1] - mean) * (run[part - 1] - mean);
+      }
+    }
+    double deviation = Math.sqrt(squares / count);
+    double threshold = Math.max(2 * deviation, Math.max(mean * MIN_PERCENT / 100, MIN_NANOS));
+
+    double delta = nanoTime - mean;
+    if (Math.abs(delta) <= threshold) {
+      return "";
+    }
+    return String.format("part %d %+.0f%% %s",
+                         part,
+                         mean == 0 ? 100.0 : 100 * delta / mean,
+                         delta > 0 ? "slower" : "faster");
+  }
+
+  /**
+   * Returns the run times of the last {@link #compareRuns} runs in the history file.
+   * Loads them the first time.
+   *
+   * <p> Lines without a mode or an input, written before they were recorded, are left out.
+   *
+   * @return the earlier run times keyed by "year/day/mode/input".
+   */
+  private static Map<String, List<long[]>> earlier() {
+    if (earlier != null) {
+      return earlier;
+    }
+
+    earlier = new HashMap<>();
+    Path path = historyPath();
+    if (!Files.exists(path)) {
+      return earlier;
+    }
+
+    List<String> lines;
+    try {
+      lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+    } catch (IOException ex) {
+      System.out.println("Cannot read " + path + ": " + ex.getMessage());
+      return earlier;
+    }
+
+    List<Map<String, String>> records = new ArrayList<>(lines.size());
+    Set<String> runIds = new LinkedHashSet<>();
+    for (String line : lines) {
+      Map<String, String> fields = parse(line);
+      if (fields.containsKey("run") && fields.containsKey("day")
+          && fields.containsKey("mode") && fields.containsKey("input")) {
+        records.add(fields);
+        runIds.add(fields.get("run"));
+      }
+    }
+
+    // only the last runs
+    Set<String> lastRunIds = new LinkedHashSet<>(new ArrayList<>(runIds)
+                                                   .subList(Math.max(0, runIds.size() - compareRuns),
+                                                            runIds.size()));
+
+    for (Map<String, String> fields : records) {
+      if (lastRunIds.contains(fields.get("run"))) {
+        earlier.computeIfAbsent(key(fields.get("year"), fields.get("day"),
+                                    fields.get("mode"), fields.get("input")),
+                                key -> new ArrayList<>())
+               .add(new long[]{number(fields.get("nanoTime1")), number(fields.get("nanoTime2"))});
+      }
+    }
+    return earlier;
+  }
+
+  /**
+   * Reads the fields of a flat JSON object with {@link String}, number or null values.
+   *
+   * @param line the JSON object.
+   * @return the values keyed by field name. Quotes are removed from {@link String} values.
+   */
+  private static Map<String, String> parse(String line) {
+    Map<String, String> fields = new HashMap<>();
+    Matcher matcher = Patterns.matcher("\"(\\w+)\":(?:\"([^\"]*)\"|(-?\\d+|null))", line);
+    while (matcher.find()) {
+      fields.put(matcher.group(1), matcher.group(2) != null ? matcher.group(2) : matcher.group(3));
+    }
+    return fields;
+  }
+
+  /**
+   * Converts a JSON number.
+   *
+   * @param value the number, "null" or <code>null</code>.
+   * @return the number or -1 if there's none.
+   */
+  private static long number(String value) {
+    return value == null || "null".equals(value) ? -1 : Long.parseLong(value);
+  }
+
+  /**
+   * Returns the run time of a result.
+   *
+   * @param result the {@link base.ResultI}.
+   * @return the run time in nano seconds or -1 if the result isn't valid and timed.
+   */
+  private static long nanoTime(ResultI result) {
+    return result != null && result.isValid() && result.isTimed() ? result.getNanoTime() : -1;
+  }
+
+  /**
+   * Creates the key of a day in {@link #earlier}.
+   *
+   * @param year the year, like "2021".
+   * @param day the day, like "Day1".
+   * @param mode "fork" or "in-process".
+   * @param inputHash the hash of the input.
+   * @return the key "year/day/mode/input".
+   */
+  private static String key(String year, String day, String mode, String inputHash) {
+    return year + "/" + day + "/" + mode + "/" + inputHash;
+  }
+
+  /**
+   * Returns the hash of the input file of a {@link base.DayI}.
+   *
+   * <p> The file is read again, since a forked day only reads it in its child JVM.
+   *
+   * @param dayI the {@link base.DayI}.
+   * @return the hash of the input or <code>null</code> if it cannot be read.
+   */
+  private static String inputHash(DayI dayI) {
+    String[] input = new String[1];
+    DataReader.readFile(dayI.getInputFileName(), (in) -> input[0] = in);
+    return input[0] == null ? null : ResultCache.inputHash(input[0]);
+  }
+
+  /**
+   * Returns the year of a {@link base.DayI}.
+   *
+   * @param dayI the {@link base.DayI}.
+   * @return the year, like "2021" for "Year2021.Day1".
+   */
+  private static String year(DayI dayI) {
+    return dayI.getClass().getPackageName().replace("Year", "");
+  }
+
+  /**
+   * Returns the path of the history file in the class path directory.
+   *
+   * @return the {@link java.nio.file.Path} of the history file.
+   */
+  private static Path historyPath() {
+    return Path.of(DataReader.getRunDir(), HISTORY_FILE);
+  }
+
+}
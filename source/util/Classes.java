@@ -5,6 +5,10 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.IOException;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -17,6 +21,7 @@ import java.util.Comparator;
 import java.util.stream.Stream;
 import java.util.stream.Collectors;
 import java.util.jar.JarFile;
+import java.util.concurrent.ConcurrentHashMap;
 
 import base.DayI;
 
@@ -40,6 +45,12 @@ public class Classes {
    */
   private static Map<String, String[]> jarCache;
 
+  /**
+   * Maps a fully qualified class name to the {@link java.lang.invoke.MethodHandle}
+   * of its constructor taking a {@link String} array.
+   */
+  private static Map<String, MethodHandle> constructors = new ConcurrentHashMap<>();
+
 
   /**
    * Empty constructor meant to <b>only be used</b> to get to the {@link ClassLoader}.
@@ -127,9 +138,13 @@ public class Classes {
   /**
    * Finds all package names with the "YearYYYY" name structure on the system class path.
    *
-   * <p> For every system folder or <code>.jar</code> file on the class path,
-   * it finds and collects any packages with the "YearYYYY" name structure,
-   * where "YYYY" are the 4 digits of a year.
+   * <p> For every system folder on the class path, it finds and collects any packages
+   * with the "YearYYYY" name structure, where "YYYY" are the 4 digits of a year.
+   *
+   * <p> The packages in the {@link util.DayIndex} of the <code>.jar</code> files on the class path
+   * are added with the {@link ContainerType#INDEX} type, unless a folder or a scanned
+   * <code>.jar</code> file has the same package. The <code>.jar</code> files with an index aren't scanned.
+   * Every other <code>.jar</code> file is scanned like the folders.
    *
    * <p> Uses both {@link #getYearPackagesFile(String)} and {@link #getYearPackagesJar(String)}
    * to collect package names.
@@ -138,15 +153,20 @@ public class Classes {
    * where "YYYY" are the 4 digits of a year.
    */
   public static Set<YearPackage> getYearPackagesOnClassPath() {
+    Set<YearPackage> allYearPackages = new TreeSet<>(YearPackageCompare);
+
+    Map<String, List<String>> index = DayIndex.get();
+
     String classpath = System.getProperty("java.class.path");
     String[] classpathEntries = classpath.split(System.getProperty("path.separator"));
 
-    Set<YearPackage> allYearPackages = new TreeSet<>(YearPackageCompare);
-
     for (String classPathEntry : classpathEntries) {
 
       if (classPathEntry.endsWith(".jar")) {
 
+        if (DayIndex.isIndexed(classPathEntry)) {
+          continue;  // its packages are in the index
+        }
         allYearPackages.addAll(
           getYearPackagesJar(classPathEntry)
             .stream()
@@ -167,6 +187,9 @@ public class Classes {
       }
     }
 
+    // after the folders, so a package compiled into a folder isn't replaced by the index
+    index.keySet().forEach(year -> allYearPackages.add(new YearPackage(year, ContainerType.INDEX)));
+
     return allYearPackages;
   }
 
@@ -332,6 +355,22 @@ public class Classes {
   }
 
 
+  /**
+   * Returns all {@link absbase.DayX} implementations of a package in the {@link util.DayIndex}.
+   *
+   * <p> The returned {@link java.util.stream.Stream} is expected to contain:
+   * "Day1", "Day2", "Day3", ...
+   *
+   * @param packageName the package name to find implementations in
+   * @return a {@link java.util.stream.Stream} of {@link String} class names
+   */
+  public static Stream<String> classNamesAsStreamIndex(String packageName) {
+    return DayIndex.get()
+                   .getOrDefault(packageName, List.of())
+                   .stream();
+  }
+
+
   /**
    * Instantiates an object of a {@link base.DayI} class.
    *
@@ -342,6 +381,8 @@ public class Classes {
    *   <li>instantiate a {@link base.DayI} object with the given dayArgs</li>
    * </ul>
    *
+   * <p> The constructor is looked up once per class, and kept as a {@link java.lang.invoke.MethodHandle}.
+   *
    * <p> Returns <code>null</code> if an {@link Exception} occurs.
    *
    * @param className the class name of the object.
@@ -352,11 +393,19 @@ public class Classes {
    */
   public static DayI createClass(String className, String packageName, String[] dayArgs) {
     try {
-      return getClass(className, packageName)
-                 .getDeclaredConstructor(String[].class)
-                 .newInstance(new Object[]{dayArgs});
+      MethodHandle constructor = constructors.get(packageName + "." + className);
+      if (constructor == null) {
+        constructor = MethodHandles.publicLookup()
+                                   .findConstructor(getClass(className, packageName),
+                                                    MethodType.methodType(void.class, String[].class))
+                                   .asType(MethodType.methodType(DayI.class, String[].class));
+        constructors.put(packageName + "." + className, constructor);
+      }
+      return (DayI) constructor.invokeExact(dayArgs);
 
-    } catch (Exception e) {
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
       // Not sure what to do about this.. :(
       e.printStackTrace();
     }
@@ -400,6 +449,10 @@ public class Classes {
      * A regular file or folder on the system. Not a <code>.jar</code> file.
      */
     FILE,
+    /**
+     * Listed in the {@link util.DayIndex}. The class path isn't known.
+     */
+    INDEX,
     /**
      * File or folder doesn't exist.
      */
@@ -42,6 +42,30 @@ public class CommandLineOptions {
    *       the package years of <code>allDaysI</code></li>
    *   <li><code>-o</code> or <code>--output</code> set
    *        <code>Printers</code> to print to the specified file</li>
+   *   <li><code>-fmt</code> or <code>--format</code> sets
+   *        <code>Printers</code> to print records as text, json or csv</li>
+   *   <li><code>-async</code> or <code>--asyncOutput</code> sets
+   *        <code>Printers</code> to write on a background thread</li>
+   *   <li><code>-cmp</code> or <code>--compare</code> compares run times to
+   *        the given number of earlier runs in <code>BenchmarkHistory</code>
+   *        and bypasses the <code>ResultCache</code></li>
+   *   <li><code>-noCache</code> or <code>--noCache</code> bypasses
+   *        the <code>ResultCache</code></li>
+   *   <li><code>-fork</code> or <code>--fork</code> sets how many days
+   *        <code>allDaysI</code> solves at the same time in child JVMs
+   *        and bypasses the <code>ResultCache</code></li>
+   *   <li><code>-jvm</code> or <code>--jvmFlags</code> sets the flags
+   *        of the child JVMs of <code>allDaysI</code></li>
+   *   <li><code>-cds</code> or <code>--sharedArchive</code> sets the class data sharing
+   *        archive of the child JVMs of <code>allDaysI</code></li>
+   *   <li><code>-prefetch</code> or <code>--prefetch</code> sets how many days ahead
+   *        <code>allDaysI</code> reads the input files</li>
+   *   <li><code>-clearCache</code> or <code>--clearCache</code> invalidates
+   *        the <code>ResultCache</code></li>
+   *   <li><code>-jfr</code> or <code>--jfr</code> starts a flight recording
+   *        with <code>FlightEvents</code></li>
+   *   <li><code>-metrics</code> or <code>--metrics</code> registers the MBean of
+   *        <code>SolverMetrics</code> and writes them to the specified file</li>
    * </ul>
    *
    * <p> Arguments that effects a {@link base.DayI} that {@link base.AllDaysI} will
@@ -76,6 +100,47 @@ public class CommandLineOptions {
           case "-o"                :
           case "--output"          : Printers.setTarget(args[++i]);
                                      continue;
+          case "-fmt"              :
+          case "--format"          : Printers.setFormat(args[++i]);
+                                     continue;
+          case "-async"            :
+          case "--asyncOutput"     : Printers.setAsync(true);
+                                     continue;
+          case "-cmp"              :
+          case "--compare"         : BenchmarkHistory.setCompareRuns(Integer.parseInt(args[++i]));
+                                     ResultCache.setEnabled(false);
+                                     continue;
+          case "-noCache"          :
+          case "--noCache"         : ResultCache.setEnabled(false);
+                                     continue;
+          case "-fork"             :
+          case "--fork"            : allDaysI.setForks(Integer.parseInt(args[++i]));
+                                     ResultCache.setEnabled(false);
+                                     continue;
+          case "-jvm"              :
+          case "--jvmFlags"        : allDaysI.setJvmFlags(args[++i]);
+                                     continue;
+          case "-cds"              :
+          case "--sharedArchive"   : allDaysI.setSharedArchive(args[++i]);
+                                     continue;
+          case "-prefetch"         :
+          case "--prefetch"        : allDaysI.setPrefetch(Integer.parseInt(args[++i]));
+                                     continue;
+          case "-clearCache"       :
+          case "--clearCache"      : ResultCache.invalidate();
+                                     continue;
+          case "-jfr"              :
+          case "--jfr"             : FlightEvents.startRecording(args[++i]);
+                                     continue;
+          case "-metrics"          :
+          case "--metrics"         : SolverMetrics.registerMBean();
+                                     SolverMetrics.startWriting(args[++i]);
+                                     continue;
+          case "-select"           :
+          case "--selectAlternatives" : modifiedArgs.add(args[i]);
+                                     continue;
+          case "-timeout"          :
+          case "--timeout"         :
           case "-f"                :
           case "--file"            :
           case "-p"                :
@@ -101,6 +166,60 @@ public class CommandLineOptions {
     allDaysI.setArgs(modifiedArgs.toArray(new String[0]));
   }
 
+  /**
+   * Handles arguments for the run of a {@link base.SolverDaemonI} instance.
+   *
+   * <p> Arguments
+   * <ul>
+   *   <li><code>-h</code> or <code>--help</code></li>
+   * </ul>
+   * <br> prints the help to the console. Then the program halts.
+   *
+   * <p> Arguments that effects the {@link base.SolverDaemonI} are handled:
+   * <ul>
+   *   <li><code>-port</code> or <code>--port</code> sets
+   *       the local port of <code>daemonI</code></li>
+   *   <li><code>-warm</code> or <code>--warmup</code> sets
+   *       how many times <code>daemonI</code> solves each day before accepting requests</li>
+   *   <li><code>-y</code> or <code>--year</code> sets
+   *       the package years of <code>daemonI</code></li>
+   *   <li><code>-metrics</code> or <code>--metrics</code> writes
+   *       the <code>SolverMetrics</code> to the specified file</li>
+   * </ul>
+   *
+   * <p> Any <code>Exception</code>, like unknown arguments, causes the help to the printed.
+   *
+   * @param args the original arguments used to call the program.
+   * @param daemonI the instance to be run.
+   */
+  public static void handleDaemonOptions(String[] args, SolverDaemonI daemonI) {
+    boolean help = false;
+
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "-port"             :
+          case "--port"            : daemonI.setPort(Integer.parseInt(args[++i]));
+                                     continue;
+          case "-warm"             :
+          case "--warmup"          : daemonI.setWarmups(Integer.parseInt(args[++i]));
+                                     continue;
+          case "-y"                :
+          case "--year"            : daemonI.setPackageNames(args[++i]);
+                                     continue;
+          case "-metrics"          :
+          case "--metrics"         : SolverMetrics.startWriting(args[++i]);
+                                     continue;
+          default: help = true;
+        }
+      }
+    } catch (Exception ex) {
+      help = true;
+    }
+
+    checkHelp(help, false);
+  }
+
   /**
    * Handles arguments for the run of a {@link base.DayI} extending {@link absbase.DayX} instance.
    *
@@ -134,9 +253,26 @@ public class CommandLineOptions {
    *       the <code>DayX</code> to not print run times</li>
    *   <li><code>-o</code> or <code>--output</code> set
    *       <code>Printers</code> to print to the specified file</li>
+   *   <li><code>-fmt</code> or <code>--format</code> sets
+   *       <code>Printers</code> to print records as text, json or csv</li>
+   *   <li><code>-async</code> or <code>--asyncOutput</code> sets
+   *       <code>Printers</code> to write on a background thread</li>
    *   <li><code>-alt</code> or <code>--alternaive</code> calls
    *      {@link base.DayI#setRunMe(Runnable)} with
    *      {@link base.DayI#runVersusAlternatives(int)}</li>
+   *   <li><code>-b</code> or <code>--batch</code> calls
+   *      {@link base.DayI#setRunMe(Runnable)} with
+   *      {@link util.BatchRunner#run(DayI, String, int, boolean)}</li>
+   *   <li><code>-w</code> or <code>--workers</code> sets the number of workers of a batch</li>
+   *   <li><code>-select</code> or <code>--selectAlternatives</code> calls
+   *      {@link base.DayI#setSelecting(boolean)}</li>
+   *   <li><code>-timeout</code> or <code>--timeout</code> calls
+   *      {@link base.DayI#setTimeout(long)}</li>
+   *   <li><code>-jfr</code> or <code>--jfr</code> calls
+   *      {@link util.FlightEvents#startRecording(String)}</li>
+   *   <li><code>-metrics</code> or <code>--metrics</code> calls
+   *      {@link util.SolverMetrics#registerMBean()} and
+   *      {@link util.SolverMetrics#startWriting(String)}</li>
    * </ul>
    *
    * @param args the original arguments used to call the program.
@@ -147,6 +283,8 @@ public class CommandLineOptions {
     boolean help = false;
     boolean helpFile = false;
     FileName.Builder fileNameBuilder = new FileName.Builder(dayI);
+    int[] workers = {Runtime.getRuntime().availableProcessors()};  // read when the batch runs
+    boolean[] printTime = {true};                                  // read when the batch runs
 
     for (int i = 0; i < args.length; i++) {
       switch (args[i]) {
@@ -159,6 +297,16 @@ public class CommandLineOptions {
         case "-o"                :
         case "--output"          : Printers.setTarget(args[++i]);
                                    continue;
+        case "-fmt"              :
+        case "--format"          : try {
+                                     Printers.setFormat(args[++i]);
+                                   } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e){
+                                     help = true;
+                                   }
+                                   continue;
+        case "-async"            :
+        case "--asyncOutput"     : Printers.setAsync(true);
+                                   continue;
         case "-f"                :
         case "--file"            : fileNameBuilder.setFullFilename(args[++i]);
                                    continue;
@@ -179,6 +327,47 @@ public class CommandLineOptions {
                                    continue;
         case "-noTime"           :
         case "--noPrintTime"     : dayI.setPrinter(() -> Printers.printJustResult(dayI));
+                                   printTime[0] = false;
+                                   continue;
+        case "-b"                :
+        case "--batch"           : try {
+                                     String batch = args[++i];
+                                     dayI.setRunMe(() -> BatchRunner.run(dayI, batch, workers[0], printTime[0]));
+                                   } catch (ArrayIndexOutOfBoundsException e){
+                                     help = true;
+                                   }
+                                   continue;
+        case "-w"                :
+        case "--workers"         : try {
+                                     workers[0] = Integer.parseInt(args[++i]);
+                                   } catch (NumberFormatException | ArrayIndexOutOfBoundsException e){
+                                     help = true;
+                                   }
+                                   continue;
+        case "-select"           :
+        case "--selectAlternatives" : dayI.setSelecting(true);
+                                   continue;
+        case "-timeout"          :
+        case "--timeout"         : try {
+                                     dayI.setTimeout(Long.parseLong(args[++i]));
+                                   } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e){
+                                     help = true;
+                                   }
+                                   continue;
+        case "-jfr"              :
+        case "--jfr"             : try {
+                                     FlightEvents.startRecording(args[++i]);
+                                   } catch (IllegalStateException | ArrayIndexOutOfBoundsException e){
+                                     help = true;
+                                   }
+                                   continue;
+        case "-metrics"          :
+        case "--metrics"         : try {
+                                     SolverMetrics.registerMBean();
+                                     SolverMetrics.startWriting(args[++i]);
+                                   } catch (IllegalStateException | ArrayIndexOutOfBoundsException e){
+                                     help = true;
+                                   }
                                    continue;
         case "-alt":
         case "--alternaive"      : int temp = 0;
@@ -227,6 +416,7 @@ public class CommandLineOptions {
    * <pre>
    *Usage:  java -cp run Year2021.Day&lt;1-25&gt; [OPTIONS]
    *   Or:  java -cp run AllDays [OPTIONS]
+   *   Or:  java -cp run SolverDaemon [-port &lt;INTEGER&gt;] [-warm &lt;INTEGER&gt;] [-y &lt;YEARS&gt;] [-metrics &lt;FILE&gt;]
    *
    *        -h, --help                     Prints this ;)
    *        -hf, --helpFileOptions         Usage on the file options
@@ -234,22 +424,57 @@ public class CommandLineOptions {
    *                                       This has no effect if using the `-alt` option
    *        -alt, --alternative &lt;INTEGER&gt;  Runs alternative implemenations &lt;INTEGER&gt; times.
    *                                       Note: This option can NOT be used with AllDays!
+   *        -b, --batch &lt;DIR|GLOB&gt;          Solves every input file in the directory or glob.
+   *                                       Note: This option can NOT be used with AllDays!
+   *        -w, --workers &lt;INTEGER&gt;        Input files solved at the same time by -b.
+   *                                       Default is the number of processors
+   *        -select, --selectAlternatives  Selects the alternatives of both parts per input.
+   *                                       By the input and the run times recorded by -alt
+   *        -timeout, --timeout &lt;MILLIS&gt;   Cancels a day still solving after &lt;MILLIS&gt; milli seconds.
+   *                                       Only some days check it, like Day12, Day15 and Day23
+   *        -jfr, --jfr &lt;FILE&gt;             Records a flight recording with day and part events.
+   *                                       The file is written when the program exits
+   *        -metrics, --metrics &lt;FILE&gt;     Writes solver metrics as Prometheus text every 10 seconds.
+   *                                       Also registers the MBean util:type=SolverMetrics
    *        -y, --year &lt;4 DIGIT INTEGER&gt;   Runs AllDays for that year only.
    *                                       Note: This option can ONLY be used with AllDays!
    *                                       Multiple comma separated years are accepted using
    *                                       for example "2020, 2021" inluding the double quotes
    *        -o, --output &lt;FILE&gt;            Prints output to specified file
    *                                       example -o out\myOutput.txt or -o myOutput.txt
-   *                                       Note: The file will be overwritten!</pre>
+   *                                       Note: The file will be overwritten!
+   *        -fmt, --format &lt;FORMAT&gt;        Prints results as "text", "json" or "csv" records
+   *                                       json and csv print one record per part of a day
+   *        -async, --asyncOutput          Prints from a background thread through a large buffer.
+   *                                       Flushed after each day and when the program exits
+   *        -cmp, --compare &lt;INTEGER&gt;      Compares run times to the last &lt;INTEGER&gt; runs.
+   *                                       Note: This option can ONLY be used with AllDays!
+   *        -noCache, --noCache            Solves all days without using cached results.
+   *                                       Note: This option can ONLY be used with AllDays!
+   *        -clearCache, --clearCache      Removes cached results, then solves and caches again.
+   *                                       Note: This option can ONLY be used with AllDays!
+   *        -fork, --fork &lt;INTEGER&gt;        Solves each day in a child JVM, &lt;INTEGER&gt; days at a time.
+   *                                       Note: This option can ONLY be used with AllDays!
+   *        -jvm, --jvmFlags &lt;FLAGS&gt;       Flags of the child JVMs, like "-Xmx1g -XX:+UseSerialGC"
+   *                                       Note: This option can ONLY be used with AllDays!
+   *        -cds, --sharedArchive &lt;FILE&gt;   Child JVMs of -fork use the class data sharing archive.
+   *                                       Note: This option can ONLY be used with AllDays!
+   *        -prefetch, --prefetch &lt;INTEGER&gt;  Reads input files &lt;INTEGER&gt; days ahead. Default is 2
+   *                                       Note: This option can ONLY be used with AllDays!
+   *        -port, --port &lt;INTEGER&gt;        The local port SolverDaemon listens on. Default is 7821
+   *        -warm, --warmup &lt;INTEGER&gt;      Times SolverDaemon solves each day before accepting requests.
+   *                                       Default is 1</pre>
    */
   public final static void usageHelp() {
-    String formatUsage = "%n%6s\t%s%n%6s\t%s%n%n";
+    String formatUsage = "%n%6s\t%s%n%6s\t%s%n%6s\t%s%n%n";
     String format      = "\t%-29s  %s%n";
 
     System.out.printf(formatUsage, "Usage:",
                                    "java -cp run Year2021.Day<1-25> [OPTIONS]",
                                    "Or:",
-                                   "java -cp run AllDays [OPTIONS]");
+                                   "java -cp run AllDays [OPTIONS]",
+                                   "Or:",
+                                   "java -cp run SolverDaemon [-port <INTEGER>] [-warm <INTEGER>] [-y <YEARS>] [-metrics <FILE>]");
 
     System.out.printf(format, "-h, --help", "Prints this ;)");
 
@@ -262,6 +487,30 @@ public class CommandLineOptions {
                               "Runs alternative implemenations <INTEGER> times.");
     System.out.printf(format, "", "Note: This option can NOT be used with AllDays!");
 
+    System.out.printf(format, "-b, --batch <DIR|GLOB>",
+                              "Solves every input file in the directory or glob.");
+    System.out.printf(format, "", "Note: This option can NOT be used with AllDays!");
+
+    System.out.printf(format, "-w, --workers <INTEGER>",
+                              "Input files solved at the same time by -b.");
+    System.out.printf(format, "", "Default is the number of processors");
+
+    System.out.printf(format, "-select, --selectAlternatives",
+                              "Selects the alternatives of both parts per input.");
+    System.out.printf(format, "", "By the input and the run times recorded by -alt");
+
+    System.out.printf(format, "-timeout, --timeout <MILLIS>",
+                              "Cancels a day still solving after <MILLIS> milli seconds.");
+    System.out.printf(format, "", "Only some days check it, like Day12, Day15 and Day23");
+
+    System.out.printf(format, "-jfr, --jfr <FILE>",
+                              "Records a flight recording with day and part events.");
+    System.out.printf(format, "", "The file is written when the program exits");
+
+    System.out.printf(format, "-metrics, --metrics <FILE>",
+                              "Writes solver metrics as Prometheus text every 10 seconds.");
+    System.out.printf(format, "", "Also registers the MBean util:type=SolverMetrics");
+
     System.out.printf(format, "-y, --year <4 DIGIT INTEGER>",
                               "Runs AllDays for that year only.");
     System.out.printf(format, "", "Note: This option can ONLY be used with AllDays!");
@@ -271,6 +520,49 @@ public class CommandLineOptions {
     System.out.printf(format, "-o, --output <FILE>", "Prints output to specified file");
     System.out.printf(format, "", "example -o out\\myOutput.txt or -o myOutput.txt");
     System.out.printf(format, "", "Note: The file will be overwritten!");
+
+    System.out.printf(format, "-fmt, --format <FORMAT>",
+                              "Prints results as \"text\", \"json\" or \"csv\" records");
+    System.out.printf(format, "", "json and csv print one record per part of a day");
+
+    System.out.printf(format, "-async, --asyncOutput",
+                              "Prints from a background thread through a large buffer.");
+    System.out.printf(format, "", "Flushed after each day and when the program exits");
+
+    System.out.printf(format, "-cmp, --compare <INTEGER>",
+                              "Compares run times to the last <INTEGER> runs.");
+    System.out.printf(format, "", "Note: This option can ONLY be used with AllDays!");
+
+    System.out.printf(format, "-noCache, --noCache",
+                              "Solves all days without using cached results.");
+    System.out.printf(format, "", "Note: This option can ONLY be used with AllDays!");
+
+    System.out.printf(format, "-clearCache, --clearCache",
+                              "Removes cached results, then solves and caches again.");
+    System.out.printf(format, "", "Note: This option can ONLY be used with AllDays!");
+
+    System.out.printf(format, "-fork, --fork <INTEGER>",
+                              "Solves each day in a child JVM, <INTEGER> days at a time.");
+    System.out.printf(format, "", "Note: This option can ONLY be used with AllDays!");
+
+    System.out.printf(format, "-jvm, --jvmFlags <FLAGS>",
+                              "Flags of the child JVMs, like \"-Xmx1g -XX:+UseSerialGC\"");
+    System.out.printf(format, "", "Note: This option can ONLY be used with AllDays!");
+
+    System.out.printf(format, "-cds, --sharedArchive <FILE>",
+                              "Child JVMs of -fork use the class data sharing archive.");
+    System.out.printf(format, "", "Note: This option can ONLY be used with AllDays!");
+
+    System.out.printf(format, "-prefetch, --prefetch <INTEGER>",
+                              "Reads input files <INTEGER> days ahead. Default is 2");
+    System.out.printf(format, "", "Note: This option can ONLY be used with AllDays!");
+
+    System.out.printf(format, "-port, --port <INTEGER>",
+                              "The local port SolverDaemon listens on. Default is 7821");
+
+    System.out.printf(format, "-warm, --warmup <INTEGER>",
+                              "Times SolverDaemon solves each day before accepting requests.");
+    System.out.printf(format, "", "Default is 1");
   }
 
   /**
@@ -1,6 +1,7 @@
 package util;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -122,6 +123,132 @@ public class ConvertAscII {
   }
 
 
+  /**
+   * Converts an ascII bitmap to a {@link String} of letters.
+   *
+   * <p> The same as {@link #findLetters(String[])}, but reading the bits directly
+   * instead of a {@link String} array. The bit at index <code>y * width + x</code>
+   * is set for a '#'.
+   *
+   * <p> Letters are separated by columns without any set bits. Each suspected letter
+   * is packed into an <code>int</code> key, see {@link #letterKey}, that is
+   * used as a map look-up.
+   *
+   * @param bitmap the bits of the ascII "art" letters, row after row.
+   * @param width the width of the ascII.
+   * @param height the height of the ascII.
+   * @return a {@link String} of found letters or
+   * an empty {@link String} if none can be found.
+   */
+  public static String findLetters(long[] bitmap, int width, int height) {
+    StringBuilder letters = new StringBuilder();
+    int column = 0;
+
+    while (column < width) {
+      // look for the next empty column 3 columns from the current
+      int nextEmpty = column + 3;
+      while (nextEmpty < width && !isEmptyColumn(bitmap, width, height, nextEmpty)) {
+        nextEmpty++;
+      }
+      nextEmpty = Math.min(nextEmpty, width);
+
+      String letter = bitLetterMap.get(letterKey(bitmap, width, height, column, nextEmpty));
+      if (letter != null) {
+        letters.append(letter);
+      }
+
+      // move past the empty column
+      column = nextEmpty + 1;
+    }
+
+    return letters.toString();
+  }
+
+  /**
+   * Converts an ascII bitmap to an ascII {@link String} array.
+   *
+   * <p> Set bits become '#' and the rest become spaces.
+   *
+   * @param bitmap the bits of the ascII, row after row.
+   * @param width the width of the ascII.
+   * @param height the height of the ascII.
+   * @return the ascII {@link String} array.
+   */
+  public static String[] toAscII(long[] bitmap, int width, int height) {
+    String[] ascII = new String[height];
+    char[] row = new char[width];
+
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        row[x] = isSet(bitmap, y * width + x) ? '#' : ' ';
+      }
+      ascII[y] = new String(row);
+    }
+
+    return ascII;
+  }
+
+  /**
+   * Checks if a bit is set.
+   *
+   * @param bitmap the bits.
+   * @param index the index of the bit.
+   * @return <code>true</code> if the bit is set.
+   */
+  private static boolean isSet(long[] bitmap, int index) {
+    return (bitmap[index >>> 6] & (1L << index)) != 0;
+  }
+
+  /**
+   * Checks if a column in the bitmap has no set bits.
+   *
+   * @param bitmap the bits, row after row.
+   * @param width the width of the bitmap.
+   * @param height the height of the bitmap.
+   * @param column the column to check.
+   * @return <code>true</code> if no bit in the column is set.
+   */
+  private static boolean isEmptyColumn(long[] bitmap, int width, int height, int column) {
+    for (int y = 0; y < height; y++) {
+      if (isSet(bitmap, y * width + column)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Packs a suspected letter into an <code>int</code>.
+   *
+   * <p> Letters are 6 rows high and at most 4 columns wide, so each row
+   * takes 4 bits with the width in the bits above. Anything else returns -1.
+   *
+   * @param bitmap the bits, row after row.
+   * @param width the width of the bitmap.
+   * @param height the height of the bitmap.
+   * @param fromColumn the first column of the letter.
+   * @param toColumn the column after the last column of the letter.
+   * @return the key of the letter or -1 if it can't be a letter.
+   */
+  private static int letterKey(long[] bitmap, int width, int height, int fromColumn, int toColumn) {
+    int letterWidth = toColumn - fromColumn;
+    if (height != 6 || letterWidth > 4) {
+      return -1;
+    }
+
+    int key = letterWidth;
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < 4; x++) {
+        key <<= 1;
+        if (x < letterWidth && isSet(bitmap, y * width + fromColumn + x)) {
+          key |= 1;
+        }
+      }
+    }
+    return key;
+  }
+
+
   /**
    * {@link String} array of the letter A
    */
@@ -319,4 +446,28 @@ public class ConvertAscII {
       put(Z, "Z");
   }};
 
+  /**
+   * Maps the <code>int</code> key of a letter, see {@link #letterKey}, to its
+   * corresponding {@link String} letter.
+   *
+   * <p> Created from the {@link String} arrays in {@link #letterMap}.
+   */
+  private static Map<Integer, String> bitLetterMap = new HashMap<>();
+  static {
+    for (Map.Entry<String[], String> entry : letterMap.entrySet()) {
+      String[] letter = entry.getKey();
+      int letterWidth = letter[0].length();
+      long[] bitmap = new long[1];
+      for (int y = 0; y < letter.length; y++) {
+        for (int x = 0; x < letter[y].length(); x++) {
+          if (letter[y].charAt(x) == '#') {
+            bitmap[0] |= 1L << (y * letterWidth + x);
+          }
+        }
+      }
+      bitLetterMap.put(letterKey(bitmap, letterWidth, letter.length, 0, letterWidth),
+                       entry.getValue());
+    }
+  }
+
 }
@@ -9,6 +9,7 @@ import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import java.util.Properties;
 
 import base.*;
@@ -93,6 +94,8 @@ public class DataReader {
    *       {@link Exception} for any other error/exception.</li>
    * </ul>
    *
+   * <p> Records a {@link util.FlightEvents.ReadEvent} around it.
+   *
    * <p>Usage:
    *
    * <pre>
@@ -103,6 +106,45 @@ public class DataReader {
    * @return a {@link util.State} with a {@link base.Status} correspoding to the outcome.
    */
   public static State readFile(String path, Consumer<String> setInput) {
+    return readFile(path, setInput, (nanoTime) -> {});
+  }
+
+  /**
+   * Will attempt to read the text file of the specified {@link String} path,
+   * and tells how long reading the content took.
+   *
+   * <p> The same as {@link #readFile(String, Consumer)}, except the nano seconds spent in
+   * {@link java.nio.file.Files#readString(Path, Charset)} are passed to <code>setReadNanoTime</code>.
+   * Checking the path and recording the {@link util.FlightEvents.ReadEvent} aren't included.
+   * Nothing is passed if the file doesn't exist.
+   *
+   * <p> Used by {@link util.InputPrefetcher}.
+   *
+   * @param path a {@link String} path to the file.
+   * @param setInput the {@link Consumer} that will set the content of the file.
+   * @param setReadNanoTime the {@link LongConsumer} that will get the nano seconds spent reading the content.
+   * @return a {@link util.State} with a {@link base.Status} correspoding to the outcome.
+   */
+  public static State readFile(String path, Consumer<String> setInput, LongConsumer setReadNanoTime) {
+    FlightEvents.ReadEvent event = FlightEvents.beginRead();
+    long[] inputSize = new long[1];
+    State state = read(path, (in) -> {
+      inputSize[0] = in.length();
+      setInput.accept(in);
+    }, setReadNanoTime);
+    FlightEvents.commitRead(event, path, inputSize[0], state);
+    return state;
+  }
+
+  /**
+   * Reads a file for {@link #readFile(String, Consumer, LongConsumer)}.
+   *
+   * @param path a {@link String} path to the file.
+   * @param setInput the {@link Consumer} that will set the content of the file.
+   * @param setReadNanoTime the {@link LongConsumer} that will get the nano seconds spent reading the content.
+   * @return a {@link util.State} with a {@link base.Status} correspoding to the outcome.
+   */
+  private static State read(String path, Consumer<String> setInput, LongConsumer setReadNanoTime) {
     Path filePath = null;
     try {
       filePath = Paths.get(path);
@@ -115,10 +157,13 @@ public class DataReader {
     if (!Files.exists(filePath)) {
       return new State(Status.NO_FILE).withMessage("file " + filePath + " does not exist");
     } else {
+      long startTime = System.nanoTime();
       try {
         input = Files.readString(filePath, DataReader.charset);
       } catch (IOException ex) {
         return new State(Status.GOT_EXCEPTION).withException(ex);
+      } finally {
+        setReadNanoTime.accept(System.nanoTime() - startTime);
       }
     }
 
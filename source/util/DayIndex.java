@@ -0,0 +1,212 @@
+package util;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An index of the "YearYYYY" packages and their DayZ classes, created when building.
+ *
+ * <p> The index is the resource "dayindex.properties" at the root of the class path,
+ * with one line per year package listing its days in order:
+ * <pre>Year2021=Day1,Day2,Day3,...,Day25</pre>
+ *
+ * <p> The Maven and Gradle builds create it in the class path directory before packaging
+ * the <code>.jar</code> by running
+ * <pre>    java -cp run util.DayIndex run</pre>
+ *
+ * <p> {@link util.Classes} reads the index first, so starting doesn't have to list
+ * every entry of the <code>.jar</code> files on the class path. The index is only read
+ * from <code>.jar</code> files, and the indexes of all of them are merged.
+ * Only the <code>.jar</code> files with an index aren't scanned, see {@link #isIndexed(String)}.
+ * Directories on the class path are always scanned,
+ * so days compiled after the index was created, like with GraysPile, are still found.
+ *
+ * @author  GraysColour
+ * @version 1.0
+ * @since   1.0
+ */
+
+public class DayIndex {
+
+  /**
+   * The name of the index resource.
+   */
+  public static final String INDEX_FILE = "dayindex.properties";
+
+  /**
+   * The index read from the class path. <code>null</code> until read.
+   */
+  private static Map<String, List<String>> index;
+
+  /**
+   * The <code>.jar</code> files the {@link #index} was read from. <code>null</code> until read.
+   */
+  private static Set<Path> indexedJars;
+
+  /**
+   * @hidden
+   */
+  private DayIndex() {}
+
+
+  /**
+   * Creates the index in a class path directory.
+   *
+   * @param args the class path directory, like "run".
+   * @throws IOException if the directory cannot be read or the index cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      System.out.println("Usage:  java -cp run util.DayIndex <CLASS PATH DIRECTORY>");
+      System.exit(-1);
+    }
+
+    Path directory = Path.of(args[0]);
+    List<String> lines = new ArrayList<>();
+    for (String packageName : Classes.getYearPackagesFile(args[0]).stream().sorted().collect(Collectors.toList())) {
+      List<String> days;
+      try (Stream<Path> files = Files.list(directory.resolve(packageName))) {
+        days = files.map(path -> path.getFileName().toString())
+                    .filter(fileName -> fileName.matches("^Day(?!0)\\d+\\.class$"))
+                    .map(fileName -> fileName.replace(".class", ""))
+                    .sorted(Comparator.comparing(day -> Integer.parseInt(day.replace("Day", ""))))
+                    .collect(Collectors.toList());
+      }
+      if (!days.isEmpty()) {
+        lines.add(packageName + "=" + String.join(",", days));
+      }
+    }
+
+    Path indexPath = directory.resolve(INDEX_FILE);
+    Files.write(indexPath, lines, StandardCharsets.UTF_8);
+    System.out.println("Wrote " + lines.size() + " year packages to " + indexPath);
+  }
+
+
+  /**
+   * Returns the index read from the class path.
+   *
+   * <p> Reads the index the first time. Only indexes in <code>.jar</code> files are read,
+   * since one in a class path directory may be older than the classes compiled into it.
+   * The days of a package found in several indexes are merged, in order.
+   *
+   * @return the ordered class names, like "Day1", keyed by package name, like "Year2021".
+   * Empty if there's no index in a <code>.jar</code> file on the class path.
+   */
+  public static synchronized Map<String, List<String>> get() {
+    if (index != null) {
+      return index;
+    }
+
+    Map<String, Set<String>> merged = new LinkedHashMap<>();
+    indexedJars = new HashSet<>();
+    try {
+      Enumeration<URL> urls = DayIndex.class.getClassLoader().getResources(INDEX_FILE);
+      while (urls.hasMoreElements()) {
+        URL url = urls.nextElement();
+        Path jar = jarPath(url);
+        if (jar != null && read(url, merged)) {
+          indexedJars.add(jar);
+        }
+      }
+    } catch (IOException ex) {
+      System.out.println("Cannot find " + INDEX_FILE + ": " + ex.getMessage());
+    }
+
+    index = new LinkedHashMap<>();
+    merged.forEach((packageName, days) -> index.put(packageName,
+                                                    days.stream()
+                                                        .sorted(Comparator.comparing(day -> Integer.parseInt(day.replace("Day", ""))))
+                                                        .collect(Collectors.toList())));
+    return index;
+  }
+
+  /**
+   * Returns <code>true</code> if a <code>.jar</code> file on the class path has an index.
+   *
+   * <p> The packages of an indexed <code>.jar</code> file are in {@link #get()},
+   * so it doesn't have to be scanned. Other <code>.jar</code> files must be.
+   *
+   * @param classPathEntry a <code>.jar</code> file of the class path, like "target/advent-of-code-1.0.jar".
+   * @return <code>true</code> if the index of the <code>.jar</code> file was read.
+   */
+  public static synchronized boolean isIndexed(String classPathEntry) {
+    get();
+    try {
+      return indexedJars.contains(Path.of(classPathEntry).toAbsolutePath().normalize());
+    } catch (IllegalArgumentException ex) {  // also InvalidPathException
+      return false;
+    }
+  }
+
+  /**
+   * Returns the path of the <code>.jar</code> file of an index.
+   *
+   * @param url the URL of the index, like <code>jar:file:/aoc.jar!/dayindex.properties</code>.
+   * @return the absolute path of the <code>.jar</code> file or
+   * <code>null</code> if the index isn't in a local <code>.jar</code> file.
+   */
+  private static Path jarPath(URL url) {
+    if (!"jar".equals(url.getProtocol())) {
+      return null;
+    }
+    String path = url.getPath();
+    int separator = path.indexOf("!/");
+    if (separator < 0) {
+      return null;
+    }
+    try {
+      return Path.of(new URI(path.substring(0, separator))).toAbsolutePath().normalize();
+    } catch (URISyntaxException | IllegalArgumentException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Reads an index and adds its days to the merged index.
+   *
+   * @param url the URL of the index.
+   * @param merged the days keyed by package name, from the indexes read before.
+   * @return <code>true</code> if the index was read.
+   */
+  private static boolean read(URL url, Map<String, Set<String>> merged) {
+    Map<String, List<String>> read = new LinkedHashMap<>();
+    try (InputStream stream = url.openStream()) {
+      BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] entry = line.split("=", 2);
+        if (entry.length == 2 && entry[0].startsWith("Year")) {
+          read.put(entry[0].trim(), List.of(entry[1].trim().split("\\s*,\\s*")));
+        }
+      }
+    } catch (IOException ex) {
+      System.out.println("Cannot read " + url + ": " + ex.getMessage());
+      return false;  // the jar file is scanned instead
+    }
+
+    read.forEach((packageName, days) -> merged.computeIfAbsent(packageName, name -> new LinkedHashSet<>())
+                                              .addAll(days));
+    return true;
+  }
+
+}
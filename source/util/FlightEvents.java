@@ -0,0 +1,316 @@
+package util;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+
+import base.*;
+
+/**
+ * Java Flight Recorder events for days, parts and input reads.
+ *
+ * <p> The events are in the category "Advent of Code" and carry the year and day,
+ * so a recording can be sliced by day:
+ * <ul>
+ *   <li>{@link DayEvent} "aoc.Day" around solving both parts of a day.</li>
+ *   <li>{@link PartEvent} "aoc.Part" around solving one part or one alternative.</li>
+ *   <li>{@link ReadEvent} "aoc.InputRead" around reading an input file.</li>
+ * </ul>
+ *
+ * <p> The events are only created after {@link #startRecording(String)} started a recording
+ * with the <code>-jfr &lt;FILE&gt;</code> option. Before that the begin methods return
+ * <code>null</code> and the commit methods do nothing, so no <code>jdk.jfr</code> class
+ * is loaded and the start-up time isn't affected.
+ *
+ * <p> Usage:
+ * <pre>
+ *     FlightEvents.PartEvent event = FlightEvents.beginPart();
+ *     ... solve ...
+ *     FlightEvents.commitPart(event, dayI, 1, "", input, result);</pre>
+ *
+ * @author  GraysColour
+ * @version 1.0
+ * @since   1.0
+ */
+
+public class FlightEvents {
+
+  /**
+   * The recording started by {@link #startRecording(String)}. <code>null</code> if none.
+   */
+  private static Recording recording;
+
+  /**
+   * <code>true</code> once {@link #recording} is started. Checked before any <code>jdk.jfr</code> class is used.
+   */
+  private static volatile boolean recordingStarted = false;
+
+  /**
+   * @hidden
+   */
+  private FlightEvents() {}
+
+
+  /**
+   * Starts a recording, that's written to a file when the JVM exits.
+   *
+   * <p> Uses the "profile" settings of the JDK for the JDK events, so the recording
+   * has method samples for flame graphs. Only one recording is started.
+   *
+   * @param file the path of the recording file, like "aoc.jfr".
+   * @throws IllegalStateException if the recording cannot be started.
+   */
+  public static synchronized void startRecording(String file) {
+    if (recording != null) {
+      return;
+    }
+
+    try {
+      recording = new Recording(Configuration.getConfiguration("profile"));
+      recording.setName("Advent of Code");
+      recording.setDestination(Path.of(file));
+      recording.setDumpOnExit(true);  // the JVM stops the recording and writes the file when it exits
+      recording.start();
+      recordingStarted = true;
+    } catch (IOException | ParseException ex) {
+      throw new IllegalStateException("Cannot start a recording to " + file, ex);
+    }
+  }
+
+
+  /**
+   * Begins a {@link DayEvent}, if a recording was started.
+   *
+   * @return the begun {@link DayEvent}, or <code>null</code> if no recording was started.
+   */
+  public static DayEvent beginDay() {
+    if (!recordingStarted) {
+      return null;
+    }
+    DayEvent event = new DayEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends and commits a {@link DayEvent}, if it's recorded.
+   *
+   * @param event the begun {@link DayEvent}, or <code>null</code>.
+   * @param dayI the solved {@link base.DayI}.
+   * @param input the input of the day.
+   * @param cached <code>true</code> if the results came from the {@link util.ResultCache}.
+   */
+  public static void commitDay(DayEvent event, DayI dayI, String input, boolean cached) {
+    if (event == null) {
+      return;
+    }
+    event.end();
+    if (!event.shouldCommit()) {
+      return;
+    }
+    event.year = year(dayI);
+    event.day = Classes.getSimpleClassName(dayI);
+    event.inputSize = input == null ? 0 : input.length();
+    event.status1 = status(dayI.getResult());
+    event.status2 = status(dayI.getResultPart2());
+    event.cached = cached;
+    event.commit();
+  }
+
+  /**
+   * Begins a {@link PartEvent}, if a recording was started.
+   *
+   * @return the begun {@link PartEvent}, or <code>null</code> if no recording was started.
+   */
+  public static PartEvent beginPart() {
+    if (!recordingStarted) {
+      return null;
+    }
+    PartEvent event = new PartEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends and commits a {@link PartEvent}, if it's recorded.
+   *
+   * @param event the begun {@link PartEvent}, or <code>null</code>.
+   * @param dayI the {@link base.DayI} of the part.
+   * @param part 1 for part 1, 2 for part 2.
+   * @param alternative the name of the alternative or an empty {@link String}.
+   * @param input the input of the day.
+   * @param result the {@link base.ResultI} of the part, or <code>null</code> if there's none.
+   */
+  public static void commitPart(PartEvent event, DayI dayI, int part, String alternative,
+                                String input, ResultI result) {
+    if (event == null) {
+      return;
+    }
+    event.end();
+    if (!event.shouldCommit()) {
+      return;
+    }
+    event.year = year(dayI);
+    event.day = Classes.getSimpleClassName(dayI);
+    event.part = part;
+    event.alternative = alternative;
+    event.inputSize = input == null ? 0 : input.length();
+    event.status = status(result);
+    event.commit();
+  }
+
+  /**
+   * Begins a {@link ReadEvent}, if a recording was started.
+   *
+   * @return the begun {@link ReadEvent}, or <code>null</code> if no recording was started.
+   */
+  public static ReadEvent beginRead() {
+    if (!recordingStarted) {
+      return null;
+    }
+    ReadEvent event = new ReadEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends and commits a {@link ReadEvent}, if it's recorded.
+   *
+   * @param event the begun {@link ReadEvent}, or <code>null</code>.
+   * @param path the path of the input file.
+   * @param inputSize the number of characters read.
+   * @param state the {@link util.State} of reading the file.
+   */
+  public static void commitRead(ReadEvent event, String path, long inputSize, State state) {
+    if (event == null) {
+      return;
+    }
+    event.end();
+    if (!event.shouldCommit()) {
+      return;
+    }
+    event.path = path;
+    event.inputSize = inputSize;
+    event.status = state.getStatus().toString();
+    event.commit();
+  }
+
+
+  /**
+   * Returns the year of a {@link base.DayI}.
+   *
+   * @param dayI the {@link base.DayI}.
+   * @return the year, like "2021" for "Year2021.Day1".
+   */
+  private static String year(DayI dayI) {
+    return dayI.getClass().getPackageName().replace("Year", "");
+  }
+
+  /**
+   * Returns the {@link base.Status} of a result.
+   *
+   * @param result the {@link base.ResultI} or <code>null</code>.
+   * @return the {@link base.Status} or an empty {@link String}.
+   */
+  private static String status(ResultI result) {
+    return result == null || result.getState() == null ? "" : result.getState().getStatus().toString();
+  }
+
+
+  /**
+   * Solving both parts of a day.
+   *
+   * @author  GraysColour
+   * @version 1.0
+   * @since   1.0
+   */
+  @Name("aoc.Day")
+  @Label("Day")
+  @Category("Advent of Code")
+  @Description("Solving both parts of a day")
+  public static class DayEvent extends Event {
+    @Label("Year")
+    private String year;
+
+    @Label("Day")
+    private String day;
+
+    @Label("Input Size")
+    @DataAmount(DataAmount.BYTES)
+    private long inputSize;
+
+    @Label("Part 1 Status")
+    private String status1;
+
+    @Label("Part 2 Status")
+    private String status2;
+
+    @Label("Cached")
+    private boolean cached;
+  }
+
+  /**
+   * Solving one part or one alternative of a day.
+   *
+   * @author  GraysColour
+   * @version 1.0
+   * @since   1.0
+   */
+  @Name("aoc.Part")
+  @Label("Part")
+  @Category("Advent of Code")
+  @Description("Solving one part or one alternative of a day")
+  public static class PartEvent extends Event {
+    @Label("Year")
+    private String year;
+
+    @Label("Day")
+    private String day;
+
+    @Label("Part")
+    private int part;
+
+    @Label("Alternative")
+    private String alternative;
+
+    @Label("Input Size")
+    @DataAmount(DataAmount.BYTES)
+    private long inputSize;
+
+    @Label("Status")
+    private String status;
+  }
+
+  /**
+   * Reading an input file.
+   *
+   * @author  GraysColour
+   * @version 1.0
+   * @since   1.0
+   */
+  @Name("aoc.InputRead")
+  @Label("Input Read")
+  @Category("Advent of Code")
+  @Description("Reading an input file")
+  public static class ReadEvent extends Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Input Size")
+    @DataAmount(DataAmount.BYTES)
+    private long inputSize;
+
+    @Label("Status")
+    private String status;
+  }
+
+}
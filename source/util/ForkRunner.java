@@ -0,0 +1,309 @@
+package util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+
+import base.*;
+
+/**
+ * Solves a {@link base.DayI} in a child JVM.
+ *
+ * <p> The child JVM runs the day with the same java and class path as this JVM,
+ * the given JVM flags and the arguments of the day, adding <code>-fmt json</code>.
+ * The JSON records it prints are read back into {@link util.Result} objects
+ * and set on the {@link base.DayI} of this JVM, so they can be printed as usual.
+ *
+ * <p> Each day starts with a fresh heap and JIT profile, so earlier days
+ * don't affect its run times. Starting the JVM isn't included in the run times,
+ * since they're measured by the child around the solvers.
+ *
+ * <p> A child JVM that hasn't exited after {@link #DEFAULT_TIMEOUT} milli seconds is killed.
+ * With <code>-timeout &lt;MILLIS&gt;</code> in the arguments of the day, it's killed
+ * {@link #START_TIMEOUT} milli seconds after the solvers should have been cancelled.
+ *
+ * <p> Usage from {@link AllDays}:
+ * <pre>
+ *     ForkRunner.solve(dayI, dayArgs, List.of("-Xmx1g"));</pre>
+ *
+ * @author  GraysColour
+ * @version 1.0
+ * @since   1.0
+ */
+
+public class ForkRunner {
+
+  /**
+   * A field of a JSON record: a quoted {@link String}, an array of quoted {@link String}s, a number or null.
+   */
+  private static final String FIELD = "\"(\\w+)\":(\"(?:[^\"\\\\]|\\\\.)*\"|\\[(?:[^\\]\"]|\"(?:[^\"\\\\]|\\\\.)*\")*\\]|-?\\d+|null)";
+
+  /**
+   * A quoted {@link String} of a JSON array.
+   */
+  private static final String QUOTED = "\"((?:[^\"\\\\]|\\\\.)*)\"";
+
+  /**
+   * Milli seconds a child JVM may run without a <code>-timeout</code> of the day.
+   */
+  private static final long DEFAULT_TIMEOUT = 600000;
+
+  /**
+   * Milli seconds a child JVM may run besides the <code>-timeout</code> of the day,
+   * for starting, reading the input and printing the results.
+   */
+  private static final long START_TIMEOUT = 30000;
+
+  /**
+   * @hidden
+   */
+  private ForkRunner() {}
+
+
+  /**
+   * Solves a {@link base.DayI} in a child JVM and sets the results on it.
+   *
+   * <p> If the child JVM fails before printing any record, <b>part 1</b> gets a
+   * {@link base.Status#GOT_EXCEPTION} result with the exit code and the last line it printed.
+   * <br> If it's killed for running too long, the parts it didn't print a record for
+   * get a {@link base.Status#GOT_EXCEPTION} result saying so.
+   * <br> A record that cannot be read is a {@link base.Status#GOT_EXCEPTION} result of its part.
+   *
+   * <p> The output of the child JVM is written to a temporary file, so waiting for it
+   * to exit isn't blocked by reading the output.
+   *
+   * @param dayI the {@link base.DayI} to solve.
+   * @param dayArgs the arguments of the day, like <code>{"-d", "challenge"}</code>.
+   * @param jvmFlags the flags of the child JVM, like <code>["-Xmx1g", "-XX:+UseSerialGC"]</code>.
+   * @return the {@link base.DayI} with its results.
+   */
+  public static DayI solve(DayI dayI, String[] dayArgs, List<String> jvmFlags) {
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(jvmFlags);
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(dayI.getClass().getName());
+    command.addAll(Arrays.asList(dayArgs));
+    command.add("-fmt");
+    command.add("json");
+
+    long timeout = timeout(dayArgs);
+
+    ResultI[] results = new ResultI[2];
+    String lastLine = "";
+    int exitCode = 0;
+    boolean killed = false;
+    Path output = null;
+    try {
+      output = Files.createTempFile("fork-" + dayI.getClass().getSimpleName(), ".json");
+      Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                                                   .redirectOutput(output.toFile())
+                                                   .start();
+      if (process.waitFor(timeout, TimeUnit.MILLISECONDS)) {
+        exitCode = process.exitValue();
+      } else {
+        process.destroyForcibly().waitFor();
+        killed = true;
+      }
+
+      try (BufferedReader out = Files.newBufferedReader(output, StandardCharsets.UTF_8)) {
+        String line;
+        while ((line = out.readLine()) != null) {
+          if (line.startsWith("{")) {
+            Map<String, String> fields = parse(line);
+            results["2".equals(fields.get("part")) ? 1 : 0] = toResult(fields, line);
+          } else if (!line.isBlank()) {
+            lastLine = line;
+          }
+        }
+      }
+    } catch (IOException ex) {
+      dayI.setResults(Result.createFileErrorResult(new State(Status.GOT_EXCEPTION).withException(ex)), null);
+      return dayI;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      dayI.setResults(Result.createFileErrorResult(new State(Status.GOT_EXCEPTION).withException(ex)), null);
+      return dayI;
+    } finally {
+      deleteOutput(output);
+    }
+
+    if (killed) {
+      for (int i = 0; i < results.length; i++) {
+        if (results[i] == null) {
+          results[i] = Result.createFileErrorResult(
+                         new State(Status.GOT_EXCEPTION)
+                           .withException(new IllegalStateException("forked JVM killed after "
+                                                                    + timeout + " milli seconds")));
+        }
+      }
+    } else if (results[0] == null && results[1] == null) {
+      results[0] = Result.createFileErrorResult(
+                     new State(Status.GOT_EXCEPTION)
+                       .withException(new IllegalStateException("forked JVM exited with " + exitCode
+                                                                + (lastLine.isEmpty() ? "" : ": " + lastLine))));
+    }
+    dayI.setResults(results[0], results[1]);
+    return dayI;
+  }
+
+
+  /**
+   * Returns how long a child JVM may run.
+   *
+   * @param dayArgs the arguments of the day, which may hold <code>-timeout &lt;MILLIS&gt;</code>.
+   * @return the timeout in milli seconds.
+   */
+  private static long timeout(String[] dayArgs) {
+    for (int i = 0; i + 1 < dayArgs.length; i++) {
+      if ("-timeout".equals(dayArgs[i]) || "--timeout".equals(dayArgs[i])) {
+        try {
+          long millis = Long.parseLong(dayArgs[i + 1]);
+          if (millis > 0) {
+            return millis + START_TIMEOUT;
+          }
+        } catch (NumberFormatException ex) {
+          break;  // the child reports the argument
+        }
+      }
+    }
+    return DEFAULT_TIMEOUT;
+  }
+
+  /**
+   * Deletes the temporary output file of a child JVM. Errors are ignored.
+   *
+   * @param output the output file or <code>null</code> if it wasn't created.
+   */
+  private static void deleteOutput(Path output) {
+    if (output == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(output);
+    } catch (IOException ex) {
+      output.toFile().deleteOnExit();
+    }
+  }
+
+  /**
+   * Converts the fields of a JSON record to a {@link util.Result}.
+   *
+   * <p> A record with an unknown status or a value that isn't a number where
+   * one is expected, gives a {@link base.Status#GOT_EXCEPTION} result.
+   *
+   * @param fields the fields of a record printed with <code>-fmt json</code>.
+   * @param line the record, for the message of a record that cannot be read.
+   * @return the {@link util.Result} of the record.
+   */
+  private static Result toResult(Map<String, String> fields, String line) {
+    try {
+      return toResult(fields);
+    } catch (IllegalArgumentException ex) {  // also NumberFormatException
+      return Result.createFileErrorResult(
+               new State(Status.GOT_EXCEPTION)
+                 .withException(new IllegalStateException("cannot read " + line + ": " + ex.getMessage())));
+    }
+  }
+
+  /**
+   * Converts the fields of a JSON record to a {@link util.Result}.
+   *
+   * @param fields the fields of a record printed with <code>-fmt json</code>.
+   * @throws IllegalArgumentException if the status is unknown or a number cannot be read.
+   * @return the {@link util.Result} of the record.
+   */
+  private static Result toResult(Map<String, String> fields) {
+    Status status = Status.valueOf(unquote(fields.get("status")));
+    String nanoTime = fields.get("nanoTime");
+    String message = fields.containsKey("message") ? unquote(fields.get("message")) : "";
+
+    Result result;
+    switch (status) {
+      case NORMAL_LONG : result = Result.createResult(Long.parseLong(unquote(fields.get("result"))));
+                         break;
+      case ASCII       : List<String> ascII = new ArrayList<>();
+                         Matcher matcher = Patterns.matcher(QUOTED, fields.getOrDefault("ascII", "[]"));
+                         while (matcher.find()) {
+                           ascII.add(unescape(matcher.group(1)));
+                         }
+                         result = Result.createAscIIResult(ascII.toArray(new String[0]));
+                         break;
+      case TIMED_OUT   : return Result.createTimedOutResult(Long.parseLong(nanoTime));
+      case GOT_EXCEPTION:
+                         result = Result.createFileErrorResult(
+                                    new State(status).withException(new IllegalStateException(message)));
+                         break;
+      default          : result = Result.createFileErrorResult(new State(status).withMessage(message));
+    }
+
+    if (nanoTime != null && !"null".equals(nanoTime)) {
+      result.setNanoTime(Long.parseLong(nanoTime));
+    }
+    return result;
+  }
+
+  /**
+   * Reads the fields of a flat JSON record.
+   *
+   * @param line the JSON record.
+   * @return the raw values keyed by field name. {@link String} values are still quoted.
+   */
+  private static Map<String, String> parse(String line) {
+    Map<String, String> fields = new HashMap<>();
+    Matcher matcher = Patterns.matcher(FIELD, line);
+    while (matcher.find()) {
+      fields.put(matcher.group(1), matcher.group(2));
+    }
+    return fields;
+  }
+
+  /**
+   * Removes the quotes of a JSON string and unescapes it.
+   *
+   * @param value a quoted JSON string or <code>null</code>.
+   * @return the {@link String} or an empty {@link String}.
+   */
+  private static String unquote(String value) {
+    return value == null || value.length() < 2 ? "" : unescape(value.substring(1, value.length() - 1));
+  }
+
+  /**
+   * Unescapes the content of a JSON string.
+   *
+   * @param value the content without quotes.
+   * @return the unescaped {@link String}.
+   */
+  private static String unescape(String value) {
+    StringBuilder unescaped = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c != '\\' || i + 1 == value.length()) {
+        unescaped.append(c);
+        continue;
+      }
+      char escaped = value.charAt(++i);
+      switch (escaped) {
+        case 'n' : unescaped.append('\n'); break;
+        case 'r' : unescaped.append('\r'); break;
+        case 't' : unescaped.append('\t'); break;
+        case 'u' : unescaped.append((char) Integer.parseInt(value.substring(i + 1, i + 5), 16));
+                   i += 4;
+                   break;
+        default  : unescaped.append(escaped);
+      }
+    }
+    return unescaped.toString();
+  }
+
+}
@@ -0,0 +1,259 @@
+package util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import base.*;
+
+/**
+ * Reads the inputs of the next {@link base.DayI}s on a background thread while a day is solved.
+ *
+ * <p> The input files of the days are read in order, at most {@link #depth} days ahead of
+ * the day being solved, so reading the files overlaps with solving. The time spent reading
+ * that the solving day didn't have to wait for, is the hidden read time.
+ *
+ * <p> Only the time spent reading the content of the files is counted.
+ * Days served from the {@link util.ResultCache} aren't solved, so there's nothing
+ * for their reading to overlap with. Their inputs aren't counted.
+ *
+ * <p> Usage from {@link AllDays}:
+ * <pre>
+ *     try (InputPrefetcher prefetcher = new InputPrefetcher(days, 2)) {
+ *       while (prefetcher.hasNext()) {
+ *         DayI dayI = prefetcher.solveNext();
+ *         ...
+ *       }
+ *     }</pre>
+ *
+ * @author  GraysColour
+ * @version 1.0
+ * @since   1.0
+ */
+
+public class InputPrefetcher implements AutoCloseable {
+
+  /**
+   * The days to solve, in order.
+   */
+  private final Iterator<DayI> days;
+
+  /**
+   * How many days ahead the inputs are read. 0 reads each input right before solving it.
+   */
+  private final int depth;
+
+  /**
+   * The inputs being read or already read, in the order of the days.
+   */
+  private final Deque<Future<Input>> buffer = new ArrayDeque<>();
+
+  /**
+   * The background thread reading the inputs. <code>null</code> if {@link #depth} is 0.
+   */
+  private final ExecutorService reader;
+
+  /**
+   * Number of inputs read for days that were solved.
+   */
+  private int readCount;
+
+  /**
+   * Nano seconds spent reading the inputs of days that were solved.
+   */
+  private long readNanoTime;
+
+  /**
+   * Nano seconds spent reading the inputs, that the solving days didn't wait for.
+   */
+  private long hiddenNanoTime;
+
+
+  /**
+   * Starts reading the inputs of the first days.
+   *
+   * @param days the days to solve, in order.
+   * @param depth how many days ahead the inputs are read. 0 reads each input right before solving it.
+   * @throws IllegalArgumentException if depth is negative.
+   */
+  public InputPrefetcher(List<DayI> days, int depth) {
+    if (depth < 0) {
+      throw new IllegalArgumentException("Cannot prefetch " + depth + " days ahead");
+    }
+    this.days = days.iterator();
+    this.depth = depth;
+    this.reader = depth == 0
+                    ? null
+                    : Executors.newSingleThreadExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "InputPrefetcher");
+                        thread.setDaemon(true);
+                        return thread;
+                      });
+    fill();
+  }
+
+
+  // ---- Getters
+  /**
+   * Returns the number of inputs read for days that were solved, not taken from the {@link util.ResultCache}.
+   *
+   * @return the number of inputs read.
+   */
+  public int getReadCount() {
+    return this.readCount;
+  }
+
+  /**
+   * Returns the time spent reading the inputs.
+   *
+   * @return the read time in nano seconds.
+   */
+  public long getReadNanoTime() {
+    return this.readNanoTime;
+  }
+
+  /**
+   * Returns the time spent reading, that the solving days didn't have to wait for.
+   *
+   * @return the hidden read time in nano seconds.
+   */
+  public long getHiddenNanoTime() {
+    return this.hiddenNanoTime;
+  }
+
+
+  /**
+   * Returns <code>true</code> if there are more days to solve.
+   *
+   * @return <code>true</code> if there are more days.
+   */
+  public boolean hasNext() {
+    return !this.buffer.isEmpty() || this.days.hasNext();
+  }
+
+  /**
+   * Solves the next day with its prefetched input.
+   *
+   * <p> Calls {@link base.DayI#daySolver(String)} if the input was read,
+   * otherwise sets the file error as the <b>part 1</b> result.
+   * <br> The read time is only counted if the day wasn't served from the {@link util.ResultCache}.
+   *
+   * @return the solved {@link base.DayI}.
+   */
+  public DayI solveNext() {
+    Input input;
+    long startTime = System.nanoTime();
+    if (this.depth == 0) {
+      input = read(this.days.next());
+    } else {
+      Future<Input> future = this.buffer.poll();
+      fill();
+      try {
+        input = future.get();
+      } catch (InterruptedException | ExecutionException ex) {
+        throw new IllegalStateException("Cannot prefetch input", ex);
+      }
+    }
+    long waitNanoTime = System.nanoTime() - startTime;
+
+    int cacheHits = ResultCache.getHits();
+    if (Status.FILE_OK.equals(input.state.getStatus())) {
+      input.dayI.daySolver(input.input);
+    } else {
+      input.dayI.setResults(Result.createFileErrorResult(input.state), null);
+    }
+
+    if (ResultCache.getHits() == cacheHits) {
+      this.readNanoTime += input.nanoTime;
+      this.hiddenNanoTime += Math.max(0, input.nanoTime - waitNanoTime);
+      this.readCount++;
+    }
+    return input.dayI;
+  }
+
+  /**
+   * Stops the background thread.
+   */
+  @Override
+  public void close() {
+    if (this.reader != null) {
+      this.reader.shutdownNow();
+    }
+  }
+
+
+  /**
+   * Starts reading inputs until {@link #depth} days are buffered.
+   */
+  private void fill() {
+    while (this.reader != null && this.buffer.size() < this.depth && this.days.hasNext()) {
+      DayI dayI = this.days.next();
+      this.buffer.add(this.reader.submit(() -> read(dayI)));
+    }
+  }
+
+  /**
+   * Reads the input of a day.
+   *
+   * @param dayI the {@link base.DayI} to read the input of.
+   * @return the read {@link Input}.
+   */
+  private static Input read(DayI dayI) {
+    String[] input = new String[1];
+    long[] nanoTime = new long[1];
+    State state = DataReader.readFile(dayI.getInputFileName(),
+                                      (in) -> input[0] = in,
+                                      (nanos) -> nanoTime[0] = nanos);
+    return new Input(dayI, state, input[0], nanoTime[0]);
+  }
+
+
+  /**
+   * The input of a day.
+   *
+   * @author  GraysColour
+   * @version 1.0
+   * @since   1.0
+   */
+  private static class Input {
+
+    /**
+     * The day of the input.
+     */
+    private final DayI dayI;
+
+    /**
+     * The {@link util.State} of reading the input.
+     */
+    private final State state;
+
+    /**
+     * The input, or <code>null</code> if it couldn't be read.
+     */
+    private final String input;
+
+    /**
+     * Nano seconds spent reading the content of the input file.
+     */
+    private final long nanoTime;
+
+    /**
+     * @param dayI the day of the input.
+     * @param state the {@link util.State} of reading the input.
+     * @param input the input, or <code>null</code> if it couldn't be read.
+     * @param nanoTime nano seconds spent reading the input.
+     */
+    private Input(DayI dayI, State state, String input, long nanoTime) {
+      this.dayI = dayI;
+      this.state = state;
+      this.input = input;
+      this.nanoTime = nanoTime;
+    }
+  }
+
+}
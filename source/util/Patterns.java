@@ -0,0 +1,215 @@
+package util;
+
+import java.util.Map;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.regex.Matcher;
+
+/**
+ * A registry of compiled regular expressions.
+ *
+ * <p> Each regular expression is compiled once per JVM, however many times a
+ * solution is run by {@link absbase.DayX#runVersusAlternatives(int)} or {@link AllDays}.
+ * <br> At most {@link #MAX_PATTERNS} patterns are kept. The least recently used pattern
+ * is dropped for a new one, so regular expressions built from the input,
+ * like in Day3, don't grow the registry in a long running JVM.
+ *
+ * <p> A {@link java.util.regex.Matcher} is created for every call and isn't kept,
+ * since it holds on to its input.
+ *
+ * <p> Usage:
+ * <pre>
+ *     Matcher matcher = Patterns.matcher("x=(-?\\d+)", line);
+ *     if (Patterns.find(matcher)) {
+ *       ...
+ *     }</pre>
+ *
+ * <p> Counts the compiled patterns and accumulates the time spent compiling and
+ * the time spent in {@link #find(Matcher)} and {@link #count(Matcher)}.
+ * These are printed by {@link util.Printers#printPatternStatistics(String)}.
+ *
+ * @author  GraysColour
+ * @version 1.0
+ * @since   1.0
+ */
+
+public class Patterns {
+
+  /**
+   * The most patterns kept in the registry.
+   */
+  public static final int MAX_PATTERNS = 256;
+
+  /**
+   * The compiled patterns keyed by the flags and the regular expression, least recently used first.
+   *
+   * <p> Guarded by itself.
+   */
+  private static final Map<String, Pattern> patterns = new LinkedHashMap<>(64, 0.75f, true) {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+      return size() > MAX_PATTERNS;
+    }
+  };
+
+  /**
+   * The number of compiled patterns.
+   */
+  private static final LongAdder compileCount = new LongAdder();
+
+  /**
+   * Nano seconds spent compiling patterns.
+   */
+  private static final LongAdder compileNanos = new LongAdder();
+
+  /**
+   * Nano seconds spent matching.
+   */
+  private static final LongAdder matchNanos = new LongAdder();
+
+  /**
+   * @hidden
+   */
+  private Patterns() {}
+
+
+  /**
+   * Gets the compiled {@link java.util.regex.Pattern} of a regular expression.
+   *
+   * @param regex the regular expression.
+   * @return the compiled {@link java.util.regex.Pattern}.
+   */
+  public static Pattern get(String regex) {
+    return get(regex, 0);
+  }
+
+  /**
+   * Gets the compiled {@link java.util.regex.Pattern} of a regular expression.
+   *
+   * <p> Compiles the regular expression the first time it's asked for with these flags,
+   * or when it was dropped as the least recently used.
+   *
+   * @param regex the regular expression.
+   * @param flags the match flags, like {@link java.util.regex.Pattern#MULTILINE}.
+   * @return the compiled {@link java.util.regex.Pattern}.
+   */
+  public static Pattern get(String regex, int flags) {
+    String key = flags + ":" + regex;
+    Pattern pattern;
+    synchronized (patterns) {
+      pattern = patterns.get(key);
+    }
+    if (pattern != null) {
+      return pattern;
+    }
+
+    pattern = compile(regex, flags);  // not holding the lock, an other thread may compile it too
+    synchronized (patterns) {
+      Pattern compiled = patterns.putIfAbsent(key, pattern);
+      return compiled == null ? pattern : compiled;
+    }
+  }
+
+  /**
+   * Gets a {@link java.util.regex.Matcher} of a regular expression on the input.
+   *
+   * @param regex the regular expression.
+   * @param input the text to match.
+   * @return a new {@link java.util.regex.Matcher}.
+   */
+  public static Matcher matcher(String regex, CharSequence input) {
+    return matcher(regex, 0, input);
+  }
+
+  /**
+   * Gets a {@link java.util.regex.Matcher} of a regular expression on the input.
+   *
+   * @param regex the regular expression.
+   * @param flags the match flags, like {@link java.util.regex.Pattern#MULTILINE}.
+   * @param input the text to match.
+   * @return a new {@link java.util.regex.Matcher}.
+   */
+  public static Matcher matcher(String regex, int flags, CharSequence input) {
+    return get(regex, flags).matcher(input);
+  }
+
+  /**
+   * Finds the next match while accumulating the match time.
+   *
+   * @param matcher the {@link java.util.regex.Matcher} to call
+   * {@link java.util.regex.Matcher#find()} on.
+   * @return <code>true</code> if a match was found.
+   */
+  public static boolean find(Matcher matcher) {
+    long startTime = System.nanoTime();
+    boolean found = matcher.find();
+    matchNanos.add(System.nanoTime() - startTime);
+    return found;
+  }
+
+  /**
+   * Counts the remaining matches while accumulating the match time.
+   *
+   * @param matcher the {@link java.util.regex.Matcher} to call
+   * {@link java.util.regex.Matcher#find()} on until there are no more matches.
+   * @return the number of matches.
+   */
+  public static long count(Matcher matcher) {
+    long startTime = System.nanoTime();
+    long count = 0;
+    while (matcher.find()) {
+      count++;
+    }
+    matchNanos.add(System.nanoTime() - startTime);
+    return count;
+  }
+
+
+  // ---- Getters
+  /**
+   * Returns the number of compiled patterns.
+   *
+   * @return the number of compiled patterns since the JVM started.
+   */
+  public static long getCompileCount() {
+    return compileCount.sum();
+  }
+
+  /**
+   * Returns the accumulated time spent compiling patterns.
+   *
+   * @return the compile time in nano seconds.
+   */
+  public static long getCompileNanoTime() {
+    return compileNanos.sum();
+  }
+
+  /**
+   * Returns the accumulated time spent in {@link #find(Matcher)} and {@link #count(Matcher)}.
+   *
+   * @return the match time in nano seconds.
+   */
+  public static long getMatchNanoTime() {
+    return matchNanos.sum();
+  }
+
+
+  /**
+   * Compiles a regular expression while counting and timing it.
+   *
+   * @param regex the regular expression.
+   * @param flags the match flags.
+   * @return the compiled {@link java.util.regex.Pattern}.
+   */
+  private static Pattern compile(String regex, int flags) {
+    long startTime = System.nanoTime();
+    Pattern pattern = Pattern.compile(regex, flags);
+    compileNanos.add(System.nanoTime() - startTime);
+    compileCount.increment();
+    return pattern;
+  }
+
+}
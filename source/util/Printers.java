@@ -1,6 +1,12 @@
 package util;
 
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.stream.IntStream;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -25,11 +31,45 @@ public class Printers {
    */
   private static PrintStream target = System.out;
 
+  /**
+   * Where the {@link #target} writes to, either {@link java.lang.System#out} or a file.
+   */
+  private static OutputStream sink = System.out;
+
+  /**
+   * <code>true</code> if the {@link #target} writes on a background thread with an {@link util.AsyncWriter}.
+   *
+   * <p> Default set to <code>false</code>.
+   */
+  private static boolean async = false;
+
+  /**
+   * The {@link util.AsyncWriter} of the {@link #target}. <code>null</code> if not {@link #async}.
+   */
+  private static AsyncWriter asyncWriter;
+
+  /**
+   * <code>true</code> once the shutdown hook writing the last output is added.
+   */
+  private static boolean hooked = false;
+
   /**
    * <code>true</code> if "Windows" appears in the Operating System name.
    */
   private static boolean isWindows = System.getProperty("os.name").indexOf("Windows") > -1;
 
+  /**
+   * The {@link Format} of the printouts.
+   *
+   * <p> Default set to {@link Format#TEXT}
+   */
+  private static Format outputFormat = Format.TEXT;
+
+  /**
+   * <code>true</code> when the header line of the {@link Format#CSV} records has been printed.
+   */
+  private static boolean csvHeaderPrinted = false;
+
 
   /**
    * @hidden
@@ -53,6 +93,9 @@ public class Printers {
    *
    * Will create directories in the spcified path if they don't already exist.
    *
+   * <p> The file is written through a buffer of {@link util.AsyncWriter#BUFFER_SIZE} bytes,
+   * which is flushed by {@link #flush()} and when the program exits.
+   *
    * @param targetString a {@link String} path to a file.
    */
   public static void setTarget(String targetString) {
@@ -68,7 +111,8 @@ public class Printers {
       }
 
       Files.createFile(path);
-      Printers.target = new PrintStream(path.toFile());
+      Printers.sink = new FileOutputStream(path.toFile());
+      open();
 
     } catch (IOException ex) {
       ex.printStackTrace();
@@ -78,6 +122,95 @@ public class Printers {
   }
 
 
+  /**
+   * Sets the {@link Format} of the printouts.
+   *
+   * <p>Usage:
+   *
+   * <pre>
+   *     setFormat("json")</pre>
+   *
+   * @param formatString the name of a {@link Format}, ignoring case.
+   * @throws IllegalArgumentException if there's no {@link Format} of that name.
+   */
+  public static void setFormat(String formatString) {
+    Printers.outputFormat = Format.valueOf(formatString.trim().toUpperCase());
+  }
+
+  /**
+   * Sets if the {@link #target} writes on a background thread.
+   *
+   * <p> When <code>true</code>, prints are collected in a buffer and written by the single
+   * thread of an {@link util.AsyncWriter}, in the order they were printed.
+   * {@link #flush()} hands the buffer over without waiting, and everything is
+   * written when the program exits.
+   *
+   * <p><i> Note: Messages printed directly to {@link java.lang.System#out}, like errors,
+   * may show up before earlier results that are still being written.</i>
+   *
+   * @param async <code>true</code> to write on a background thread.
+   */
+  public static void setAsync(boolean async) {
+    Printers.async = async;
+    open();
+  }
+
+  /**
+   * Flushes the {@link #target}. Called at the end of each day.
+   *
+   * <p> If {@link #setAsync(boolean)} is set, the output is handed to the writer thread without waiting.
+   */
+  public static void flush() {
+    Printers.target.flush();
+  }
+
+
+  /**
+   * Creates the {@link #target} writing to the {@link #sink}.
+   *
+   * <ul>
+   *   <li>{@link #async} writes through an {@link util.AsyncWriter}.</li>
+   *   <li>{@link java.lang.System#out} is used as it is.</li>
+   *   <li>A file is written through a buffer of {@link util.AsyncWriter#BUFFER_SIZE} bytes.</li>
+   * </ul>
+   *
+   * <p> Adds a shutdown hook writing the last output when the program exits.
+   */
+  private static synchronized void open() {
+    finish();
+
+    if (Printers.async) {
+      Printers.asyncWriter = new AsyncWriter(Printers.sink, AsyncWriter.BUFFER_SIZE);
+      Printers.target = new PrintStream(Printers.asyncWriter, false);
+    } else if (Printers.sink == System.out) {
+      Printers.target = System.out;
+    } else {
+      Printers.target = new PrintStream(new BufferedOutputStream(Printers.sink, AsyncWriter.BUFFER_SIZE), false);
+    }
+
+    if (!Printers.hooked) {
+      Runtime.getRuntime().addShutdownHook(new Thread(Printers::finish, "Printers"));
+      Printers.hooked = true;
+    }
+  }
+
+  /**
+   * Writes all output of the {@link #target}, waiting for the {@link util.AsyncWriter} if there's one.
+   */
+  private static synchronized void finish() {
+    Printers.target.flush();
+    if (Printers.asyncWriter == null) {
+      return;
+    }
+    try {
+      Printers.asyncWriter.close();
+    } catch (IOException ex) {
+      System.err.println("Cannot write output: " + ex.getMessage());
+    }
+    Printers.asyncWriter = null;
+  }
+
+
   /**
    * Prints the {@link base.ResultI} for both <b>part 1</b>
    * and <b>part 2</b> of a {@link base.DayI} with run times.
@@ -122,7 +255,7 @@ public class Printers {
    * A {@link String} formatter for printing a part of a
    * {@link base.DayI} {@link base.ResultI} without run time.
    */
-  private static String formatNoTime = "%-12s - %-8s : %16s%s";
+  private static String formatNoTime = "%-12s - %-8s%s : %16s%s";
 
   /**
    * Prints the {@link base.ResultI} for both <b>part 1</b>
@@ -158,6 +291,11 @@ public class Printers {
    * @param dayI the {@link base.DayI} of the {@link base.ResultI}.
    */
   public static void printResult(String extra, boolean time, boolean linebreak, DayI dayI) {
+    if (Printers.outputFormat != Format.TEXT) {
+      printRecords(extra, dayI);
+      return;
+    }
+
     String name = Classes.getClassNameWithYear(dayI);
 
     ResultI result = dayI.getResult();
@@ -169,23 +307,26 @@ public class Printers {
 
     if (part1) {
       if (time) {
-        printDayResult(formatTime, name, "result", extra, result, linebreak || part2);
+        printDayResult(formatTime, name, "result", selected(extra, dayI, 1), result, linebreak || part2);
       } else {
-        printDayResultNoTime(formatNoTime, name, "result", result, linebreak || part2);
+        printDayResultNoTime(formatNoTime, name, "result", extra, result, linebreak || part2);
       }
     } else if (!part2) { // it's only really errornous if there's also no part2
-      printError(dayI, linebreak, true);
+      printError(extra, dayI, linebreak, true);
       return;
     }
 
     if (!part2) {
+      if (isTimedOut(result2)) {
+        Printers.target.printf("%-5s  - part 2 %s%s", name, result2.getState().getMessage(), linebreak ? "\n" : "");
+      }
       return;
     }
 
     if (time) {
-      printDayResult(formatTime, name, "result-2", extra, result2, linebreak);
+      printDayResult(formatTime, name, "result-2", selected(extra, dayI, 2), result2, linebreak);
     } else {
-      printDayResultNoTime(formatNoTime, name, "result-2", result2, linebreak);
+      printDayResultNoTime(formatNoTime, name, "result-2", extra, result2, linebreak);
     }
   }
 
@@ -224,22 +365,72 @@ public class Printers {
    * {@link String} for a <code>printf</code> call.
    * @param name the {@link String} presenting this print, like "=2021= Day2"
    * @param part which part of the solution, like "result" or "result-2"
+   * @param extra additional identifier on the print, like the file name of a batch, or an empty {@link String}
    * @param result the {@link base.ResultI} with the result and run time.
    * @param linebreak <code>true</code> if the print should add a line break.
    */
   private static void printDayResultNoTime(String format,
                                            String name,
                                            String part,
+                                           String extra,
                                            ResultI result,
                                            boolean linebreak) {
     Printers.target.printf(format,
                            name,
                            part,
+                           extra.isEmpty() ? "" : String.format("%15s", extra),
                            result.getPrintableResult(),
                            linebreak ? "\n" : "");
   }
 
 
+  /**
+   * Prints the statistics of the compiled regular expressions in {@link util.Patterns}.
+   *
+   * <p> Prints the number of compiled patterns with the time spent compiling them,
+   * followed by the time spent matching. The numbers are accumulated since the JVM started.
+   * <br> Nothing is printed if no pattern has been compiled.
+   *
+   * <p> Example of print:
+   * <pre>=2021= Day22 - regex          compiled:                1   time:     3576085 nano,     3576 micro,     3 milli
+   *=2021= Day22 - regex          matching:                    time:     1829169 nano,     1829 micro,     1 milli</pre>
+   *
+   * @param name the {@link String} presenting this print, like "=2021= Day22"
+   */
+  public static void printPatternStatistics(String name) {
+    if (Printers.outputFormat != Format.TEXT) {
+      return;
+    }
+
+    long compileCount = Patterns.getCompileCount();
+    if (compileCount == 0) {
+      return;
+    }
+
+    long compileNanos = Patterns.getCompileNanoTime();
+    long matchNanos   = Patterns.getMatchNanoTime();
+
+    Printers.target.printf(formatTime,
+                           name,
+                           "regex",
+                           "compiled",
+                           compileCount,
+                           compileNanos,
+                           compileNanos / 1000,
+                           compileNanos / 1000000,
+                           "\n");
+    Printers.target.printf(formatTime,
+                           name,
+                           "regex",
+                           "matching",
+                           "",
+                           matchNanos,
+                           matchNanos / 1000,
+                           matchNanos / 1000000,
+                           "\n");
+  }
+
+
   /**
    * Prints the ascII result of a {@link base.DayI}.
    *
@@ -260,6 +451,9 @@ public class Printers {
    * @param dayI a {@link base.DayI} with ascII result.
    */
   public static void printAscIIResult(DayI dayI) {
+    if (Printers.outputFormat != Format.TEXT) {
+      return;  // the records already contain the ascII
+    }
     printAscIIResult(dayI, 1);
     printAscIIResult(dayI, 2);
   }
@@ -311,6 +505,9 @@ public class Printers {
    * @param year the year to appear in the header.
    */
   public static void printAllDayYear(String year) {
+    if (Printers.outputFormat != Format.TEXT) {
+      return;
+    }
     Printers.target.println();  // get some space
     Printers.target.printf("==== Running year: %-4s ====%n", year);
   }
@@ -327,6 +524,13 @@ public class Printers {
    */
   private static String formatDayNoTime = "%-5s  %16s  %16s%n";
 
+  /**
+   * A {@link String} formatter for printing both parts
+   * of a {@link base.DayI} {@link base.ResultI} with run time
+   * compared to earlier runs in {@link util.BenchmarkHistory}.
+   */
+  private static String formatDayCompare = "%-5s  %16s  %16s  %16s  %16s  %s%n";
+
   /**
    * A {@link String} formatter for printing the accumulated runtime
    * of {@link base.DayI} {@link base.ResultI} within a year.
@@ -347,8 +551,20 @@ public class Printers {
    * @param time <code>true</code> if run times are included.
    */
   public static void printAllDayHeader(boolean time) {
+    if (Printers.outputFormat != Format.TEXT) {
+      return;
+    }
 
-    if (time) {
+    if (time && BenchmarkHistory.isComparing()) {
+      Printers.target.printf(formatDayCompare,
+                             "Day",
+                             "result-1",
+                             "time-1 micro",
+                             "result-2",
+                             "time-2 micro",
+                             "compared to last " + BenchmarkHistory.getCompareRuns() + " runs");
+      printHeaderSeperator();
+    } else if (time) {
       Printers.target.printf(formatDay,
                              "Day",
                              "result-1",
@@ -400,12 +616,20 @@ public class Printers {
    * <p> Example of print without run times:
    * <pre>Day3                198               230</pre>
    *
+   * <p> Example of print with run times compared to earlier runs in {@link util.BenchmarkHistory}:
+   * <pre>Day3                198             31367               230             11915  part 1 +104% slower</pre>
+   *
    * @param dayI a {@link base.DayI} that contains {@link base.ResultI} for one or both parts to be printed.
    * @param time <code>true</code> if run times are included.
    */
   public static void printDayByDay(DayI dayI, boolean time) {
+    if (Printers.outputFormat != Format.TEXT) {
+      printRecords("", dayI);
+      return;
+    }
+
     ResultI result = dayI.getResult();
-    boolean part1 = result != null && result.isValid();
+    boolean part1 = result != null && (result.isValid() || isTimedOut(result));
 
     if (!part1) {
       printError(dayI, true, false);
@@ -414,23 +638,53 @@ public class Printers {
 
     String name = Classes.getSimpleClassName(dayI);
     ResultI result2 = dayI.getResultPart2();
-    boolean part2 = result2 != null && result2.isValid();
+    boolean part2 = result2 != null && (result2.isValid() || isTimedOut(result2));
 
-    if (time) {
+    if (time && BenchmarkHistory.isComparing()) {
+      Printers.target.printf(formatDayCompare,
+                             name,
+                             tableResult(result),
+                             result.isTimed() ? result.getMicroTime() : "",
+                             part2 ? tableResult(result2) : "",
+                             part2 && result2.isTimed() ? result2.getMicroTime() : "",
+                             BenchmarkHistory.compare(dayI));
+    } else if (time) {
       Printers.target.printf(formatDay,
                              name,
-                             result.getPrintableResult(),
+                             tableResult(result),
                              result.isTimed() ? result.getMicroTime() : "",
-                             part2 ? result2.getPrintableResult() : "",
+                             part2 ? tableResult(result2) : "",
                              part2 && result2.isTimed() ? result2.getMicroTime() : "");
     } else {
       Printers.target.printf(formatDayNoTime,
                              name,
-                             result.getPrintableResult(),
-                             part2 ? result2.getPrintableResult() : "");
+                             tableResult(result),
+                             part2 ? tableResult(result2) : "");
     }
   }
 
+  /**
+   * Returns the result to print in the table of {@link #printDayByDay(DayI, boolean)}.
+   *
+   * @param result a valid or {@link base.Status#TIMED_OUT} {@link base.ResultI}.
+   * @return the printable result, or "TIMED_OUT".
+   */
+  private static String tableResult(ResultI result) {
+    return isTimedOut(result) ? Status.TIMED_OUT.toString() : result.getPrintableResult();
+  }
+
+  /**
+   * Returns <code>true</code> if the solver of the {@link base.ResultI} was cancelled.
+   *
+   * @param result a {@link base.ResultI} or <code>null</code>.
+   * @return <code>true</code> if the {@link base.Status} is {@link base.Status#TIMED_OUT}.
+   */
+  private static boolean isTimedOut(ResultI result) {
+    return result != null
+           && result.getState() != null
+           && result.getState().getStatus() == Status.TIMED_OUT;
+  }
+
   /**
    * Prints the accumulated run times in milli seconds.
    *
@@ -450,7 +704,7 @@ public class Printers {
    * @param time <code>true</code> if this whould print at all.
    */
   public static void printAllDayTotal(Timers.TimeAccumulator accumulator, boolean time) {
-    if (time) {
+    if (time && Printers.outputFormat == Format.TEXT) {
       printHeaderSeperator();
       Printers.target.printf(formatTotal,
                              "Total in milli",
@@ -460,6 +714,149 @@ public class Printers {
   }
 
 
+  /**
+   * Prints the throughput and latencies of a batch run by {@link util.BatchRunner}.
+   *
+   * <p> The latencies are the nearest rank percentiles 50, 90 and 99 and the maximum.
+   * <br> Printed as a single JSON object when the {@link Format} is {@link Format#JSON}.
+   * Nothing is printed for {@link Format#CSV}.
+   *
+   * <p> Example of print:
+   * <pre>=2021= Day1  - batch         inputs:              100   time:    52514300 nano,    52514 micro,    52 milli
+   *=2021= Day1  - batch     throughput:   1904.2 inputs/sec,   18.53 MB/sec
+   *=2021= Day1  - batch        latency:   p50 1203 micro,   p90 2810 micro,   p99 9120 micro,   max 9941 micro</pre>
+   *
+   * @param name the {@link String} presenting this print, like "=2021= Day1"
+   * @param inputs the number of input files.
+   * @param bytes the total size of the input files.
+   * @param nanoTime the wall clock time of the whole batch in nano seconds.
+   * @param latencies the time to solve each input file in nano seconds.
+   */
+  public static void printBatchSummary(String name, int inputs, long bytes, long nanoTime, long[] latencies) {
+    long[] sorted = latencies.clone();
+    Arrays.sort(sorted);
+    long p50 = percentile(sorted, 50) / 1000;
+    long p90 = percentile(sorted, 90) / 1000;
+    long p99 = percentile(sorted, 99) / 1000;
+    long max = sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000;
+
+    double seconds = Math.max(nanoTime, 1) / 1e9;
+
+    if (Printers.outputFormat == Format.JSON) {
+      Printers.target.printf("{\"batch\":%s,\"inputs\":%d,\"bytes\":%d,\"nanoTime\":%d"
+                             + ",\"p50Micro\":%d,\"p90Micro\":%d,\"p99Micro\":%d,\"maxMicro\":%d}%n",
+                             json(name), inputs, bytes, nanoTime, p50, p90, p99, max);
+      return;
+    }
+    if (Printers.outputFormat != Format.TEXT) {
+      return;
+    }
+
+    Printers.target.printf(formatTime,
+                           name,
+                           "batch",
+                           "inputs",
+                           inputs,
+                           nanoTime,
+                           nanoTime / 1000,
+                           nanoTime / 1000000,
+                           "\n");
+    Printers.target.printf("%-12s - %-8s%15s: %8.1f inputs/sec, %7.2f MB/sec%n",
+                           name,
+                           "batch",
+                           "throughput",
+                           inputs / seconds,
+                           bytes / seconds / (1024 * 1024));
+    Printers.target.printf("%-12s - %-8s%15s:   p50 %d micro,   p90 %d micro,   p99 %d micro,   max %d micro%n",
+                           name,
+                           "batch",
+                           "latency",
+                           p50,
+                           p90,
+                           p99,
+                           max);
+  }
+
+  /**
+   * Returns the nearest rank percentile.
+   *
+   * @param sorted the values in ascending order.
+   * @param percent the percentile, like 90.
+   * @return the value at the percentile or 0 if there are no values.
+   */
+  private static long percentile(long[] sorted, int percent) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+    return sorted[Math.max(0, rank - 1)];
+  }
+
+
+  /**
+   * Prints the time spent reading input files by an {@link util.InputPrefetcher}.
+   *
+   * <p> Prints the number of input files with the time spent reading them,
+   * followed by the part of that time the days didn't wait for.
+   * <br> Nothing is printed if no input file has been read.
+   *
+   * <p> Example of print:
+   * <pre>Total        - input              read:               25   time:     2135871 nano,     2135 micro,     2 milli
+   *Total        - input            hidden:                    time:     1877354 nano,     1877 micro,     1 milli</pre>
+   *
+   * @param name the {@link String} presenting this print, like "Total"
+   * @param prefetcher the {@link util.InputPrefetcher} that read the input files.
+   */
+  public static void printPrefetchStatistics(String name, InputPrefetcher prefetcher) {
+    if (Printers.outputFormat != Format.TEXT || prefetcher.getReadCount() == 0) {
+      return;
+    }
+
+    long readNanos   = prefetcher.getReadNanoTime();
+    long hiddenNanos = prefetcher.getHiddenNanoTime();
+
+    Printers.target.printf(formatTime,
+                           name,
+                           "input",
+                           "read",
+                           prefetcher.getReadCount(),
+                           readNanos,
+                           readNanos / 1000,
+                           readNanos / 1000000,
+                           "\n");
+    Printers.target.printf(formatTime,
+                           name,
+                           "input",
+                           "hidden",
+                           "",
+                           hiddenNanos,
+                           hiddenNanos / 1000,
+                           hiddenNanos / 1000000,
+                           "\n");
+  }
+
+  /**
+   * Prints how many days were found in the {@link util.ResultCache}.
+   *
+   * <p> Nothing is printed if the cache isn't enabled.
+   * <br> The run times of cached days were stored by an earlier run,
+   * so they aren't part of the totals printed by {@link #printAllDayTotal(Timers.TimeAccumulator, boolean)}.
+   *
+   * <p> Example of print:
+   * <pre>Cached results used for 24 of 25 days, their run times aren't in the totals</pre>
+   */
+  public static void printCacheStatistics() {
+    if (!ResultCache.isEnabled() || Printers.outputFormat != Format.TEXT) {
+      return;
+    }
+    int hits = ResultCache.getHits();
+    Printers.target.printf("Cached results used for %d of %d days%s%n",
+                           hits,
+                           hits + ResultCache.getMisses(),
+                           hits > 0 ? ", their run times aren't in the totals" : "");
+  }
+
+
   /**
    * Prints the error in a {@link base.ResultI} of a {@link base.DayI}.
    *
@@ -468,13 +865,14 @@ public class Printers {
    * <ul>
    *   <li>{@link base.Status#NO_FILE}</li>
    *   <li>{@link base.Status#NO_FILE_CONTENT}</li>
+   *   <li>{@link base.Status#TIMED_OUT}</li>
    * </ul>
    * <br> the {@link String} message from calling {@link base.StateI#getMessage()} is printed
    *
    * <p> If the {@link base.Status} is {@link base.Status#GOT_EXCEPTION}, the exception
    * from calling {@link base.StateI#getException()} is printed instead.
    *
-   * <p> Printing is <b>only</b> done, if the {@link base.Status} is one of the three mentioned.
+   * <p> Printing is <b>only</b> done, if the {@link base.Status} is one of the four mentioned.
    *
    * <p> The print will have a line with the name of the {@link base.DayI} that
    * includes the year depending on the given paramter, followed by the message or error.
@@ -486,6 +884,26 @@ public class Printers {
    * @param withYear <code>true</code> if the print should include the year.
    */
   public static void printError(DayI dayI, boolean linebreak, boolean withYear) {
+    printError("", dayI, linebreak, withYear);
+  }
+
+  /**
+   * Prints an error like {@link #printError(DayI, boolean, boolean)},
+   * with the name of an alternative or an input file before the message.
+   *
+   * <p> Example: <pre>=2021= Day1  - Day10.txt: java.lang.NumberFormatException: For input string: "5483143223"</pre>
+   *
+   * @param extra the name of an alternative or an empty {@link String}.
+   * @param dayI a {@link base.DayI} with an error result.
+   * @param linebreak <code>true</code> if the print should add a line break.
+   * @param withYear <code>true</code> if the print should include the year.
+   */
+  private static void printError(String extra, DayI dayI, boolean linebreak, boolean withYear) {
+    if (Printers.outputFormat != Format.TEXT) {
+      printRecords(extra, dayI);
+      return;
+    }
+
     ResultI result = dayI.getResult();
     if (result == null) {
       return;
@@ -498,21 +916,219 @@ public class Printers {
     String name = withYear
                     ? Classes.getClassNameWithYear(dayI)
                     : Classes.getSimpleClassName(dayI);
-    String format = "%-5s  - %s%s";
+    String format = "%-5s  - %s%s%s";
+    String prefix = extra.isEmpty() ? "" : extra + ": ";
 
     switch (state.getStatus()) {
       case NO_FILE:
-      case NO_FILE_CONTENT: Printers.target.printf(format,
+      case NO_FILE_CONTENT:
+      case TIMED_OUT:       Printers.target.printf(format,
                                                    name,
+                                                   prefix,
                                                    state.getMessage(),
                                                    linebreak ? "\n" : "");
                             break;
       case GOT_EXCEPTION:   Printers.target.printf(format,
                                                    name,
+                                                   prefix,
                                                    state.getException(),
                                                    linebreak ? "\n" : "");
       default:
     }
   }
 
+
+  /**
+   * Prints the {@link base.ResultI} of both parts of a {@link base.DayI} as records
+   * in the {@link Format} set by {@link #setFormat(String)}.
+   *
+   * <p> Prints one record per part. If neither part is valid, only the error
+   * of <b>part 1</b> is printed. The target is flushed after the records,
+   * so every record is available as soon as a day has finished.
+   *
+   * <p> Example of {@link Format#JSON} records:
+   * <pre>{"year":"2021","day":"Day1","part":1,"alternative":"","status":"NORMAL_LONG","result":"7","nanoTime":257300}
+   *{"year":"2021","day":"Day1","part":2,"alternative":"","status":"NORMAL_LONG","result":"5","nanoTime":9694100}</pre>
+   *
+   * <p> Example of {@link Format#CSV} records:
+   * <pre>year,day,part,alternative,status,result,nanoTime,message
+   *2021,Day1,1,,NORMAL_LONG,7,257300,
+   *2021,Day1,2,,NORMAL_LONG,5,9694100,</pre>
+   *
+   * @param extra the name of an alternative or an empty {@link String}.
+   * @param dayI the {@link base.DayI} of the {@link base.ResultI}.
+   */
+  private static void printRecords(String extra, DayI dayI) {
+    if (Printers.outputFormat == Format.CSV && !Printers.csvHeaderPrinted) {
+      Printers.target.println("year,day,part,alternative,status,result,nanoTime,message");
+      Printers.csvHeaderPrinted = true;
+    }
+
+    toRecords(Printers.outputFormat, extra, dayI).forEach(Printers.target::println);
+    flush();
+  }
+
+  /**
+   * Creates the records of the {@link base.ResultI} of both parts of a {@link base.DayI}.
+   *
+   * <p> Creates one record per part. A {@link base.Status#TIMED_OUT} part counts as a part
+   * with a result. If neither part is valid or timed out, only the error
+   * of <b>part 1</b> is included. See {@link #printRecords(String, DayI)} for examples.
+   * The {@link Format#CSV} header line is not included.
+   *
+   * @param format either {@link Format#JSON} or {@link Format#CSV}.
+   * @param extra the name of an alternative or an empty {@link String}.
+   * @param dayI the {@link base.DayI} of the {@link base.ResultI}.
+   * @return a {@link java.util.List} of zero to two records.
+   */
+  public static List<String> toRecords(Format format, String extra, DayI dayI) {
+    String year = dayI.getClass().getPackageName().replace("Year", "");
+    String day = Classes.getSimpleClassName(dayI);
+
+    ResultI result = dayI.getResult();
+    ResultI result2 = dayI.getResultPart2();
+    boolean part2 = result2 != null && (result2.isValid() || isTimedOut(result2));
+
+    List<String> records = new ArrayList<>(2);
+    if (result != null && (result.isValid() || isTimedOut(result) || !part2)) {
+      records.add(toRecord(format, year, day, 1, selected(extra, dayI, 1), result));
+    }
+    if (part2) {
+      records.add(toRecord(format, year, day, 2, selected(extra, dayI, 2), result2));
+    }
+    return records;
+  }
+
+  /**
+   * Creates a single record of a {@link base.ResultI}.
+   *
+   * @param format either {@link Format#JSON} or {@link Format#CSV}.
+   * @param year the year of the {@link base.DayI}, like "2021".
+   * @param day the simple class name of the {@link base.DayI}, like "Day1".
+   * @param part 1 for part 1, 2 for part 2.
+   * @param extra the name of an alternative or an empty {@link String}.
+   * @param result the {@link base.ResultI} of the record.
+   * @return the record.
+   */
+  private static String toRecord(Format format, String year, String day, int part, String extra, ResultI result) {
+    StateI state = result.getState();
+    String status = state == null ? "" : state.getStatus().toString();
+    String value = result.isValid() ? result.getPrintableResult() : "";
+    String message = result.isValid() || state == null
+                       ? ""
+                       : state.getException() != null
+                           ? state.getException().toString()
+                           : state.getMessage() == null ? "" : state.getMessage();
+
+    if (format == Format.CSV) {
+      return String.join(",",
+                         csv(year),
+                         csv(day),
+                         String.valueOf(part),
+                         csv(extra),
+                         status,
+                         csv(value),
+                         result.isTimed() ? String.valueOf(result.getNanoTime()) : "",
+                         csv(message));
+    }
+
+    StringBuilder json = new StringBuilder(160);
+    json.append("{\"year\":").append(json(year))
+        .append(",\"day\":").append(json(day))
+        .append(",\"part\":").append(part)
+        .append(",\"alternative\":").append(json(extra))
+        .append(",\"status\":").append(json(status))
+        .append(",\"result\":").append(json(value))
+        .append(",\"nanoTime\":").append(result.isTimed() ? String.valueOf(result.getNanoTime()) : "null");
+    if (result.isValid() && result.hasAscII()) {
+      json.append(",\"ascII\":[");
+      String[] ascII = result.getAscIIResult();
+      for (int i = 0; i < ascII.length; i++) {
+        json.append(i == 0 ? "" : ",").append(json(ascII[i]));
+      }
+      json.append("]");
+    }
+    if (!message.isEmpty()) {
+      json.append(",\"message\":").append(json(message));
+    }
+    return json.append("}").toString();
+  }
+
+  /**
+   * Returns the name of the alternative of a part to print.
+   *
+   * @param extra the name of an alternative or an empty {@link String}.
+   * @param dayI the {@link base.DayI} of the part.
+   * @param part 1 for part 1, 2 for part 2.
+   * @return <code>extra</code>, or the alternative selected by the
+   * {@link base.DayI} if <code>extra</code> is empty.
+   */
+  private static String selected(String extra, DayI dayI, int part) {
+    return extra.isEmpty() ? dayI.getSelectedAlternative(part) : extra;
+  }
+
+  /**
+   * Quotes a {@link String} as a JSON string.
+   *
+   * @param value the {@link String} to quote.
+   * @return the quoted and escaped {@link String}.
+   */
+  private static String json(String value) {
+    StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+    for (char c : value.toCharArray()) {
+      switch (c) {
+        case '"'  : quoted.append("\\\""); break;
+        case '\\' : quoted.append("\\\\"); break;
+        case '\n' : quoted.append("\\n");  break;
+        case '\r' : quoted.append("\\r");  break;
+        case '\t' : quoted.append("\\t");  break;
+        default   : if (c < 0x20) {
+                      quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                      quoted.append(c);
+                    }
+      }
+    }
+    return quoted.append('"').toString();
+  }
+
+  /**
+   * Quotes a {@link String} as a CSV field, if it contains a comma, a quote or a line break.
+   *
+   * @param value the {@link String} to quote.
+   * @return the {@link String} ready to be a CSV field.
+   */
+  private static String csv(String value) {
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+        && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+
+
+  /**
+   * The formats of the printouts.
+   *
+   * @author  GraysColour
+   * @version 1.0
+   * @since   1.0
+   */
+  public static enum Format {
+    /**
+     * Human readable lines and tables. The default.
+     */
+    TEXT,
+
+    /**
+     * One JSON object per line for each part of a day.
+     */
+    JSON,
+
+    /**
+     * Comma separated values for each part of a day, after a single header line.
+     */
+    CSV;
+  }
+
 }
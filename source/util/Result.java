@@ -56,6 +56,24 @@ public class Result implements ResultI {
    */
   private String ascIIConverted;
 
+  /**
+   * An ascII result packed into bits, row after row.
+   *
+   * <p> The bit at index <code>y * ascIIWidth + x</code> is set for a '#'.
+   * When present, {@link #ascIIResult} is only created if asked for.
+   */
+  private long[] ascIIBitmap;
+
+  /**
+   * The width of the {@link #ascIIBitmap}.
+   */
+  private int ascIIWidth;
+
+  /**
+   * The height of the {@link #ascIIBitmap}.
+   */
+  private int ascIIHeight;
+
 
   /**
    * Creates a {@link Result} with the given <code>long</code> value.
@@ -97,6 +115,28 @@ public class Result implements ResultI {
     this.ascIIConverted = ConvertAscII.findLetters(ascIIResult);
   }
 
+  /**
+   * Creates a {@link Result} with the given bitmap result {@link #ascIIBitmap}.
+   *
+   * <p> Sets the
+   *   <ul>
+   *     <li>{@link util.State} to {@link base.Status#ASCII}.</li>
+   *     <li>{@link #ascIIConverted} attribute to a {@link String} letter representation
+   *         of the given bitmap using {@link util.ConvertAscII#findLetters(long[], int, int)}</li>
+   *    </ul>
+   *
+   * @param ascIIBitmap the bits of the ascII result, row after row.
+   * @param width the width of the ascII result.
+   * @param height the height of the ascII result.
+   */
+  private Result(long[] ascIIBitmap, int width, int height){
+    this.ascIIBitmap = ascIIBitmap;
+    this.ascIIWidth = width;
+    this.ascIIHeight = height;
+    this.state = new State(Status.ASCII);
+    this.ascIIConverted = ConvertAscII.findLetters(ascIIBitmap, width, height);
+  }
+
 
   /**
    * Returns <code>true</code> if the result is valid.
@@ -124,7 +164,8 @@ public class Result implements ResultI {
    * array result {@link #ascIIResult}. Otherwise <code>false</code>.
    */
   public boolean hasAscII() {
-    return ascIIResult != null && ascIIResult.length > 0;
+    return (ascIIResult != null && ascIIResult.length > 0)
+           || (ascIIBitmap != null && ascIIHeight > 0);
   }
 
 
@@ -241,9 +282,15 @@ public class Result implements ResultI {
   /**
    * Returns the ascII {@link String} array {@link ascIIResult}.
    *
+   * <p> If the result was created from a bitmap, the {@link String} array
+   * is created from the {@link #ascIIBitmap} the first time it's asked for.
+   *
    * @return the ascII {@link String} array.
    */
   public String[] getAscIIResult() {
+    if (ascIIResult == null && ascIIBitmap != null) {
+      ascIIResult = ConvertAscII.toAscII(ascIIBitmap, ascIIWidth, ascIIHeight);
+    }
     return ascIIResult;
   }
 
@@ -286,6 +333,27 @@ public class Result implements ResultI {
     return new Result(ascII);
   }
 
+  /**
+   * Creates a {@link Result} with the given bitmap result {@link #ascIIBitmap}.
+   *
+   * <p> The bit at index <code>y * width + x</code> is set for a '#'.
+   *
+   * <p> Sets the
+   *   <ul>
+   *     <li>{@link util.State} to {@link base.Status#ASCII}.</li>
+   *     <li>{@link #ascIIConverted} attribute to a {@link String} letter representation
+   *         of the bitmap using {@link util.ConvertAscII#findLetters(long[], int, int)}</li>
+   *    </ul>
+   *
+   * @param ascIIBitmap the bits of the ascII result, row after row.
+   * @param width the width of the ascII result.
+   * @param height the height of the ascII result.
+   * @return the created {@link Result}.
+   */
+  public static Result createAscIIResult(long[] ascIIBitmap, int width, int height) {
+    return new Result(ascIIBitmap, width, height);
+  }
+
   /**
    * Creates a {@link Result} with the given {@link util.State}.
    *
@@ -296,6 +364,21 @@ public class Result implements ResultI {
     return new Result(state);
   }
 
+  /**
+   * Creates a {@link Result} with a {@link util.State} set to {@link base.Status#TIMED_OUT}.
+   *
+   * <p> The run time is set to the time spent before the solver was cancelled.
+   *
+   * @param nanoTime nano seconds spent before the solver was cancelled.
+   * @return the created {@link Result}.
+   */
+  public static Result createTimedOutResult(long nanoTime) {
+    Result result = new Result(new State(Status.TIMED_OUT)
+                                 .withMessage("timed out after " + nanoTime / 1000000 + " milli"));
+    result.setNanoTime(nanoTime);
+    return result;
+  }
+
   /**
    * Creates a {@link Result} with a {@link util.State} set to {@link base.Status#NO_RESULT}.
    *
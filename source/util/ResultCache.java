@@ -0,0 +1,487 @@
+package util;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import base.*;
+
+/**
+ * Caches results of {@link base.DayI} implementations on disk.
+ *
+ * <p> A cached result is keyed by a hash of the class file of the {@link base.DayI},
+ * including all its nested, local and anonymous classes, and a hash of the input. If either changes, the
+ * day is solved again and the cache entry is replaced.
+ *
+ * <p> The cache is the file "resultcache.properties" in the class path directory
+ * next to config.properties, see {@link util.DataReader#getRunDir()}.
+ * <br> Both the <code>long</code> and the ascII results are stored along with their run times.
+ *
+ * <p> Usage from {@link AllDays}:
+ * <pre>
+ *     ResultCache.setEnabled(true);
+ *     ... run the days ...
+ *     ResultCache.save();</pre>
+ *
+ * <p><i> Note: Only the class files of the {@link base.DayI} are hashed.
+ * Changes to <code>util</code> classes used by a solution are not detected.
+ * Use <code>--clearCache</code> after such changes.</i>
+ *
+ * @author  GraysColour
+ * @version 1.0
+ * @since   1.0
+ */
+
+public class ResultCache {
+
+  /**
+   * The name of the cache file.
+   */
+  private static final String CACHE_FILE = "resultcache.properties";
+
+  /**
+   * <code>true</code> if results are looked up and stored.
+   *
+   * <p> Default set to <code>false</code>.
+   */
+  private static boolean enabled = false;
+
+  /**
+   * <code>true</code> if the cache file should be ignored when loading.
+   */
+  private static boolean invalidate = false;
+
+  /**
+   * The cached entries. Loaded the first time they're needed.
+   */
+  private static Properties entries;
+
+  /**
+   * <code>true</code> if {@link #entries} has changed since it was loaded.
+   */
+  private static boolean changed = false;
+
+  /**
+   * The number of days found in the cache.
+   */
+  private static int hits;
+
+  /**
+   * The number of days not found in the cache.
+   */
+  private static int misses;
+
+  /**
+   * @hidden
+   */
+  private ResultCache() {}
+
+
+  // ---- Setters
+  /**
+   * Sets the cache to be used or bypassed.
+   *
+   * @param enabled <code>true</code> if results are to be looked up and stored.
+   */
+  public static void setEnabled(boolean enabled) {
+    ResultCache.enabled = enabled;
+  }
+
+  /**
+   * Invalidates all cached results. The cache is refilled by the following run.
+   */
+  public static void invalidate() {
+    ResultCache.invalidate = true;
+    ResultCache.entries = null;
+  }
+
+
+  // ---- Getters
+  /**
+   * Returns <code>true</code> if the cache is used.
+   *
+   * @return <code>true</code> if results are looked up and stored.
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the number of days found in the cache.
+   *
+   * @return the number of cache hits.
+   */
+  public static int getHits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of days not found in the cache.
+   *
+   * @return the number of cache misses.
+   */
+  public static int getMisses() {
+    return misses;
+  }
+
+
+  /**
+   * Looks up the cached results of a {@link base.DayI}.
+   *
+   * @param dayI the {@link base.DayI} that would solve the input.
+   * @param input the input to be solved.
+   * @return an array of the <b>part 1</b> and <b>part 2</b> {@link util.Result}
+   * or <code>null</code> if there is no valid cached result.
+   */
+  public static Result[] lookup(DayI dayI, String input) {
+    String name = dayI.getClass().getName();
+    String key = key(dayI, input);
+
+    Properties cached = entries();
+    if (key == null || !key.equals(cached.getProperty(name + ".key"))) {
+      misses++;
+      return null;
+    }
+
+    try {
+      Result result = readResult(cached, name + ".result");
+      Result result2 = readResult(cached, name + ".result2");
+      if (result == null) {
+        misses++;
+        return null;
+      }
+      hits++;
+      return new Result[]{result, result2};
+
+    } catch (NumberFormatException ex) {
+      misses++;
+      return null;
+    }
+  }
+
+  /**
+   * Stores the results of a {@link base.DayI}.
+   *
+   * <p> Only a valid <b>part 1</b> {@link base.ResultI} is stored.
+   * An invalid <b>part 2</b> {@link base.ResultI} is stored as missing.
+   *
+   * @param dayI the {@link base.DayI} that solved the input.
+   * @param input the solved input.
+   * @param result the <b>part 1</b> result.
+   * @param result2 the <b>part 2</b> result.
+   */
+  public static void store(DayI dayI, String input, ResultI result, ResultI result2) {
+    String key = key(dayI, input);
+    if (key == null || result == null || !result.isValid()) {
+      return;
+    }
+
+    String name = dayI.getClass().getName();
+    Properties cached = entries();
+
+    cached.setProperty(name + ".key", key);
+    writeResult(cached, name + ".result", result);
+    writeResult(cached, name + ".result2", result2);
+    changed = true;
+  }
+
+  /**
+   * Writes the cache file if anything was stored.
+   *
+   * <p> Errors are printed, but otherwise ignored. The results are still valid.
+   */
+  public static void save() {
+    if (!enabled || !changed) {
+      return;
+    }
+
+    Path path = cachePath();
+    try {
+      if (path.getParent() != null) {
+        Files.createDirectories(path.getParent());
+      }
+      try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+        entries.store(writer, "Cached results. Delete the file or use --clearCache to invalidate.");
+      }
+      changed = false;
+    } catch (IOException ex) {
+      System.out.println("Cannot write " + path + ": " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Creates the hash of an input, the second half of the cache key.
+   *
+   * <p> Used by {@link util.BenchmarkHistory}.
+   *
+   * @param input the input.
+   * @return the SHA-256 hash of the input as hexadecimal digits or
+   * <code>null</code> if it cannot be created.
+   */
+  public static String inputHash(String input) {
+    try {
+      MessageDigest inputDigest = MessageDigest.getInstance("SHA-256");
+      inputDigest.update(input.getBytes(StandardCharsets.UTF_8));
+      return toHex(inputDigest.digest());
+
+    } catch (NoSuchAlgorithmException ex) {
+      return null;
+    }
+  }
+
+
+  /**
+   * Returns the cached entries. Loads them from the cache file the first time.
+   *
+   * @return the cached entries.
+   */
+  private static Properties entries() {
+    if (entries != null) {
+      return entries;
+    }
+
+    entries = new Properties();
+    Path path = cachePath();
+    if (invalidate) {
+      changed = Files.exists(path);  // rewritten even if nothing new is stored
+      return entries;
+    }
+
+    if (Files.exists(path)) {
+      try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+        entries.load(reader);
+      } catch (IOException | IllegalArgumentException ex) {
+        entries.clear();
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * Returns the path of the cache file in the class path directory.
+   *
+   * @return the {@link java.nio.file.Path} of the cache file.
+   */
+  private static Path cachePath() {
+    return Path.of(DataReader.getRunDir(), CACHE_FILE);
+  }
+
+  /**
+   * Reads a cached {@link util.Result}.
+   *
+   * @param cached the cached entries.
+   * @param prefix the property name prefix, like "Year2021.Day1.result".
+   * @return the {@link util.Result} with its run time or
+   * <code>null</code> if the result isn't cached.
+   */
+  private static Result readResult(Properties cached, String prefix) {
+    String value = cached.getProperty(prefix);
+    if (value == null) {
+      return null;
+    }
+
+    String ascII = cached.getProperty(prefix + ".ascII");
+    Result result = ascII == null
+                      ? Result.createResult(Long.parseLong(value))
+                      : Result.createAscIIResult(ascII.split("\n", -1));
+
+    String nanoTime = cached.getProperty(prefix + ".nano");
+    if (nanoTime != null) {
+      result.setNanoTime(Long.parseLong(nanoTime));
+    }
+    return result;
+  }
+
+  /**
+   * Writes a {@link base.ResultI} to the cached entries.
+   *
+   * @param cached the cached entries.
+   * @param prefix the property name prefix, like "Year2021.Day1.result".
+   * @param result the {@link base.ResultI} to write.
+   */
+  private static void writeResult(Properties cached, String prefix, ResultI result) {
+    cached.remove(prefix);
+    cached.remove(prefix + ".ascII");
+    cached.remove(prefix + ".nano");
+
+    if (result == null || !result.isValid()) {
+      return;
+    }
+
+    cached.setProperty(prefix, String.valueOf(result.getResult()));
+    if (result.hasAscII()) {
+      cached.setProperty(prefix + ".ascII", String.join("\n", result.getAscIIResult()));
+    }
+    if (result.isTimed()) {
+      cached.setProperty(prefix + ".nano", String.valueOf(result.getNanoTime()));
+    }
+  }
+
+  /**
+   * Creates the cache key of a {@link base.DayI} and its input.
+   *
+   * @param dayI the {@link base.DayI}.
+   * @param input the input.
+   * @return the hash of the class files followed by the hash of the input or
+   * <code>null</code> if the class files cannot be read.
+   */
+  private static String key(DayI dayI, String input) {
+    try {
+      MessageDigest classDigest = MessageDigest.getInstance("SHA-256");
+      if (!digestClass(dayI.getClass(), classDigest)) {
+        return null;
+      }
+
+      String inputHash = inputHash(input);
+      return inputHash == null ? null : toHex(classDigest.digest()) + ":" + inputHash;
+
+    } catch (NoSuchAlgorithmException | IOException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Adds the bytes of a class file and the class files of all its nested classes to a digest.
+   *
+   * <p> The nested classes are found by their file names, <code>Outer$*.class</code>, next to the class file.
+   * That includes anonymous and local classes, like <code>Day7$1</code>,
+   * which aren't returned by {@link java.lang.Class#getDeclaredClasses()}.
+   * <br> The class files are read from a directory or a jar file, in the order of their names.
+   *
+   * @param clazz the class.
+   * @param digest the digest to update.
+   * @throws IOException if a class file cannot be read.
+   * @return <code>false</code> if the class files cannot be found.
+   */
+  private static boolean digestClass(Class<?> clazz, MessageDigest digest) throws IOException {
+    String simpleName = clazz.getName().substring(clazz.getName().lastIndexOf('.') + 1);
+    URL url = clazz.getResource(simpleName + ".class");
+    if (url == null) {
+      return false;
+    }
+
+    switch (url.getProtocol()) {
+      case "file":
+        return digestDirectory(url, simpleName, digest);
+      case "jar":
+        return digestJar(url, digest);
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Adds the bytes of a class file and its <code>Outer$*.class</code> files in the same directory to a digest.
+   *
+   * @param url the URL of the class file.
+   * @param simpleName the name of the class without its package.
+   * @param digest the digest to update.
+   * @throws IOException if a class file cannot be read.
+   * @return <code>false</code> if the URL isn't a file.
+   */
+  private static boolean digestDirectory(URL url, String simpleName, MessageDigest digest) throws IOException {
+    Path classFile;
+    try {
+      classFile = Path.of(url.toURI());
+    } catch (URISyntaxException | IllegalArgumentException ex) {
+      return false;
+    }
+
+    List<Path> classFiles;
+    try (Stream<Path> files = Files.list(classFile.getParent())) {
+      classFiles = files.filter(file -> isNested(file.getFileName().toString(), simpleName))
+                        .sorted()
+                        .collect(Collectors.toList());
+    }
+
+    digest.update(Files.readAllBytes(classFile));
+    for (Path file : classFiles) {
+      digest.update(file.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+      digest.update(Files.readAllBytes(file));
+    }
+    return true;
+  }
+
+  /**
+   * Adds the bytes of a class file and its <code>Outer$*.class</code> entries in the same jar file to a digest.
+   *
+   * @param url the URL of the class file, like <code>jar:file:/aoc.jar!/Year2021/Day7.class</code>.
+   * @param digest the digest to update.
+   * @throws IOException if the jar file cannot be read.
+   * @return <code>false</code> if the class file isn't in the jar file.
+   */
+  private static boolean digestJar(URL url, MessageDigest digest) throws IOException {
+    JarURLConnection connection = (JarURLConnection) url.openConnection();
+    connection.setUseCaches(false);
+
+    try (JarFile jar = connection.getJarFile()) {
+      String entryName = connection.getEntryName();
+      JarEntry classEntry = entryName == null ? null : jar.getJarEntry(entryName);
+      if (classEntry == null) {
+        return false;
+      }
+
+      String prefix = entryName.substring(0, entryName.length() - ".class".length()) + "$";
+      List<JarEntry> nested = jar.stream()
+                                 .filter(entry -> entry.getName().startsWith(prefix)
+                                                  && entry.getName().endsWith(".class"))
+                                 .sorted(Comparator.comparing(JarEntry::getName))
+                                 .collect(Collectors.toList());
+
+      try (InputStream stream = jar.getInputStream(classEntry)) {
+        digest.update(stream.readAllBytes());
+      }
+      for (JarEntry entry : nested) {
+        digest.update(entry.getName().substring(entry.getName().lastIndexOf('/') + 1)
+                           .getBytes(StandardCharsets.UTF_8));
+        try (InputStream stream = jar.getInputStream(entry)) {
+          digest.update(stream.readAllBytes());
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns <code>true</code> if a file name is the class file of a class nested in another class.
+   *
+   * @param fileName the file name, like "Day7$1.class".
+   * @param simpleName the name of the outer class without its package, like "Day7".
+   * @return <code>true</code> if the file name is <code>simpleName$*.class</code>.
+   */
+  private static boolean isNested(String fileName, String simpleName) {
+    return fileName.startsWith(simpleName + "$") && fileName.endsWith(".class");
+  }
+
+  /**
+   * Converts bytes to a hexadecimal {@link String}.
+   *
+   * @param bytes the bytes.
+   * @return two hexadecimal digits per byte.
+   */
+  private static String toHex(byte[] bytes) {
+    StringBuilder hex = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      hex.append(Character.forDigit((b >> 4) & 0xf, 16))
+         .append(Character.forDigit(b & 0xf, 16));
+    }
+    return hex.toString();
+  }
+
+}
@@ -0,0 +1,526 @@
+package util;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import base.*;
+
+/**
+ * Live metrics of the solvers, per year, day, part and alternative.
+ *
+ * <p> Every solved part is counted by its {@link base.Status}, and its run time is added
+ * to a latency histogram. The metrics can be read while the program runs:
+ * <ul>
+ *   <li>as the platform MBean "util:type=SolverMetrics", with JConsole or any JMX client,
+ *       after {@link #registerMBean()}.</li>
+ *   <li>as a Prometheus text format file, rewritten every {@link #WRITE_SECONDS} seconds
+ *       and when the program exits, after {@link #startWriting(String)}.</li>
+ * </ul>
+ *
+ * <p> Example of the Prometheus text:
+ * <pre>
+ *aoc_solves_total{year="2021",day="Day1",part="1",alternative="",status="NORMAL_LONG"} 40
+ *aoc_solve_seconds_bucket{year="2021",day="Day1",part="1",alternative="",le="0.0001"} 12
+ *...
+ *aoc_solve_seconds_sum{year="2021",day="Day1",part="1",alternative=""} 0.004123456
+ *aoc_solve_seconds_count{year="2021",day="Day1",part="1",alternative=""} 40</pre>
+ *
+ * <p> Results from the {@link util.ResultCache} aren't solved, so they aren't counted.
+ * Nothing is counted before the metrics can be read, so runs without them don't pay for them.
+ *
+ * @author  GraysColour
+ * @version 1.0
+ * @since   1.0
+ */
+
+public class SolverMetrics {
+
+  /**
+   * Seconds between writes of the Prometheus text file.
+   */
+  public static final long WRITE_SECONDS = 10;
+
+  /**
+   * Upper bounds of the latency histogram buckets in nano seconds, from 100 micro to 10 seconds.
+   */
+  private static final long[] BOUNDS = {
+    100_000L, 250_000L, 500_000L,
+    1_000_000L, 2_500_000L, 5_000_000L,
+    10_000_000L, 25_000_000L, 50_000_000L,
+    100_000_000L, 250_000_000L, 500_000_000L,
+    1_000_000_000L, 2_500_000_000L, 5_000_000_000L,
+    10_000_000_000L
+  };
+
+  /**
+   * The metrics of each solver, keyed by {@link #key(String, String, int, String)}.
+   */
+  private static final Map<String, Series> series = new ConcurrentHashMap<>();
+
+  /**
+   * <code>true</code> once the MBean is registered.
+   */
+  private static boolean registered = false;
+
+  /**
+   * <code>true</code> once the metrics can be read, by the MBean or the Prometheus text file.
+   */
+  private static volatile boolean collecting = false;
+
+  /**
+   * The thread writing the Prometheus text file. <code>null</code> if not writing.
+   */
+  private static ScheduledExecutorService writer;
+
+  /**
+   * @hidden
+   */
+  private SolverMetrics() {}
+
+
+  /**
+   * Counts a solved part and adds its run time to the histogram.
+   *
+   * <p> Does nothing before {@link #registerMBean()} or {@link #startWriting(String)}.
+   *
+   * @param dayI the {@link base.DayI} of the part.
+   * @param part 1 for part 1, 2 for part 2.
+   * @param alternative the name of the alternative or an empty {@link String}.
+   * @param result the {@link base.ResultI} of the part, or <code>null</code> if there's none.
+   */
+  public static void record(DayI dayI, int part, String alternative, ResultI result) {
+    if (!collecting || result == null || result.getState() == null) {
+      return;
+    }
+    String year = dayI.getClass().getPackageName().replace("Year", "");
+    String day = Classes.getSimpleClassName(dayI);
+    series.computeIfAbsent(key(year, day, part, alternative),
+                           key -> new Series(year, day, part, alternative))
+          .add(result.getState().getStatus(), result.isTimed() ? result.getNanoTime() : -1);
+  }
+
+  /**
+   * Removes all metrics.
+   */
+  public static void reset() {
+    series.clear();
+  }
+
+  /**
+   * Registers the platform MBean "util:type=SolverMetrics".
+   *
+   * <p> Only registers it once.
+   *
+   * @throws IllegalStateException if the MBean cannot be registered.
+   */
+  public static synchronized void registerMBean() {
+    if (registered) {
+      return;
+    }
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      server.registerMBean(new Bean(), new ObjectName("util:type=SolverMetrics"));
+      registered = true;
+      collecting = true;
+    } catch (JMException ex) {
+      throw new IllegalStateException("Cannot register the SolverMetrics MBean", ex);
+    }
+  }
+
+  /**
+   * Writes the Prometheus text to a file every {@link #WRITE_SECONDS} seconds and when the program exits.
+   *
+   * <p> The file is replaced in one move, so a scraper never reads half a file.
+   * Only one file is written.
+   *
+   * @param file the path of the file, like "aoc.prom".
+   */
+  public static synchronized void startWriting(String file) {
+    if (writer != null) {
+      return;
+    }
+    Path path = Path.of(file).toAbsolutePath();
+    collecting = true;
+
+    writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "SolverMetrics");
+      thread.setDaemon(true);
+      return thread;
+    });
+    writer.scheduleAtFixedRate(() -> write(path), WRITE_SECONDS, WRITE_SECONDS, TimeUnit.SECONDS);
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> write(path), "SolverMetrics-exit"));
+  }
+
+  /**
+   * Returns the metrics in the Prometheus text format.
+   *
+   * @return the counters <code>aoc_solves_total</code> and
+   * the histograms <code>aoc_solve_seconds</code>.
+   */
+  public static String toPrometheus() {
+    List<Series> sorted = sorted();
+    StringBuilder text = new StringBuilder();
+
+    text.append("# HELP aoc_solves_total Solved parts by status.\n");
+    text.append("# TYPE aoc_solves_total counter\n");
+    for (Series s : sorted) {
+      for (Map.Entry<Status, LongAdder> entry : s.statuses.entrySet()) {
+        text.append("aoc_solves_total{").append(s.labels())
+            .append(",status=\"").append(entry.getKey()).append("\"} ")
+            .append(entry.getValue().sum()).append('\n');
+      }
+    }
+
+    text.append("# HELP aoc_solve_seconds Run time of the solved parts.\n");
+    text.append("# TYPE aoc_solve_seconds histogram\n");
+    for (Series s : sorted) {
+      long cumulative = 0;
+      for (int i = 0; i <= BOUNDS.length; i++) {
+        cumulative += s.buckets.get(i);
+        text.append("aoc_solve_seconds_bucket{").append(s.labels())
+            .append(",le=\"").append(i < BOUNDS.length ? seconds(BOUNDS[i]) : "+Inf").append("\"} ")
+            .append(cumulative).append('\n');
+      }
+      text.append("aoc_solve_seconds_sum{").append(s.labels()).append("} ")
+          .append(seconds(s.nanoTime.sum())).append('\n');
+      text.append("aoc_solve_seconds_count{").append(s.labels()).append("} ")
+          .append(cumulative).append('\n');
+    }
+    return text.toString();
+  }
+
+
+  /**
+   * Writes the Prometheus text to a file, by moving a temporary file over it.
+   *
+   * @param path the absolute path of the file.
+   */
+  private static void write(Path path) {
+    Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+    try {
+      Files.writeString(temp, toPrometheus(), StandardCharsets.UTF_8);
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException ex) {
+      System.out.println("Cannot write metrics to " + path + ": " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Returns the series ordered by year, day number, part and alternative.
+   *
+   * @return the ordered series.
+   */
+  private static List<Series> sorted() {
+    List<Series> sorted = new ArrayList<>(series.values());
+    sorted.sort(Comparator.comparing((Series s) -> s.year)
+                          .thenComparingInt(s -> Integer.parseInt("0" + s.day.replaceAll("\\D", "")))
+                          .thenComparingInt(s -> s.part)
+                          .thenComparing(s -> s.alternative));
+    return sorted;
+  }
+
+  /**
+   * Returns the key of a series.
+   *
+   * @param year the year, like "2021".
+   * @param day the day, like "Day1".
+   * @param part 1 for part 1, 2 for part 2.
+   * @param alternative the name of the alternative or an empty {@link String}.
+   * @return the key, like "2021 Day1 part 1" or "2021 Day5 part 1 grid".
+   */
+  private static String key(String year, String day, int part, String alternative) {
+    return year + " " + day + " part " + part + (alternative.isEmpty() ? "" : " " + alternative);
+  }
+
+  /**
+   * Converts nano seconds to seconds without trailing zeros.
+   *
+   * @param nanoTime the nano seconds.
+   * @return the seconds, like "0.00025".
+   */
+  private static String seconds(long nanoTime) {
+    return BigDecimal.valueOf(nanoTime, 9).stripTrailingZeros().toPlainString();
+  }
+
+  /**
+   * Escapes a Prometheus label value.
+   *
+   * @param value the label value.
+   * @return the escaped value.
+   */
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+
+  /**
+   * The view of the metrics in JMX.
+   *
+   * <p> The maps are keyed like "2021 Day1 part 1", or "2021 Day5 part 1 grid" for an alternative.
+   *
+   * @author  GraysColour
+   * @version 1.0
+   * @since   1.0
+   */
+  public interface SolverMetricsMXBean {
+
+    /**
+     * Returns the number of solved parts.
+     *
+     * @return the number of solved parts.
+     */
+    long getSolves();
+
+    /**
+     * Returns the number of solved parts per solver.
+     *
+     * @return the number of solved parts per solver.
+     */
+    Map<String, Long> getSolvesBySolver();
+
+    /**
+     * Returns the number of parts per solver that didn't get a result.
+     *
+     * @return the number of errors, no results and time outs per solver.
+     */
+    Map<String, Long> getFailuresBySolver();
+
+    /**
+     * Returns the mean run time per solver.
+     *
+     * @return the mean run time in micro seconds per solver.
+     */
+    Map<String, Long> getMeanMicrosBySolver();
+
+    /**
+     * Returns the longest run time per solver.
+     *
+     * @return the longest run time in micro seconds per solver.
+     */
+    Map<String, Long> getMaxMicrosBySolver();
+
+    /**
+     * Returns the metrics in the Prometheus text format.
+     *
+     * @return the Prometheus text.
+     */
+    String getPrometheusText();
+
+    /**
+     * Removes all metrics.
+     */
+    void reset();
+  }
+
+  /**
+   * The platform MBean of the metrics.
+   *
+   * @author  GraysColour
+   * @version 1.0
+   * @since   1.0
+   */
+  private static class Bean implements SolverMetricsMXBean {
+
+    @Override
+    public long getSolves() {
+      return series.values().stream().mapToLong(Series::count).sum();
+    }
+
+    @Override
+    public Map<String, Long> getSolvesBySolver() {
+      Map<String, Long> map = new LinkedHashMap<>();
+      sorted().forEach(s -> map.put(s.key(), s.count()));
+      return map;
+    }
+
+    @Override
+    public Map<String, Long> getFailuresBySolver() {
+      Map<String, Long> map = new LinkedHashMap<>();
+      sorted().forEach(s -> map.put(s.key(), s.failures()));
+      return map;
+    }
+
+    @Override
+    public Map<String, Long> getMeanMicrosBySolver() {
+      Map<String, Long> map = new LinkedHashMap<>();
+      sorted().forEach(s -> map.put(s.key(), s.meanNanoTime() / 1000));
+      return map;
+    }
+
+    @Override
+    public Map<String, Long> getMaxMicrosBySolver() {
+      Map<String, Long> map = new LinkedHashMap<>();
+      sorted().forEach(s -> map.put(s.key(), s.maxNanoTime.get() / 1000));
+      return map;
+    }
+
+    @Override
+    public String getPrometheusText() {
+      return toPrometheus();
+    }
+
+    @Override
+    public void reset() {
+      SolverMetrics.reset();
+    }
+  }
+
+  /**
+   * The metrics of one solver.
+   *
+   * <p> Safe to add to from several threads, like the workers of {@link util.BatchRunner}.
+   *
+   * @author  GraysColour
+   * @version 1.0
+   * @since   1.0
+   */
+  private static class Series {
+
+    /**
+     * The year, like "2021".
+     */
+    private final String year;
+
+    /**
+     * The day, like "Day1".
+     */
+    private final String day;
+
+    /**
+     * 1 for part 1, 2 for part 2.
+     */
+    private final int part;
+
+    /**
+     * The name of the alternative or an empty {@link String}.
+     */
+    private final String alternative;
+
+    /**
+     * Solved parts by {@link base.Status}.
+     */
+    private final Map<Status, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    /**
+     * Timed parts per bucket of {@link #BOUNDS}. The last bucket has the parts above all bounds.
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS.length + 1);
+
+    /**
+     * Sum of the run times in nano seconds.
+     */
+    private final LongAdder nanoTime = new LongAdder();
+
+    /**
+     * The longest run time in nano seconds.
+     */
+    private final LongAccumulator maxNanoTime = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param year the year, like "2021".
+     * @param day the day, like "Day1".
+     * @param part 1 for part 1, 2 for part 2.
+     * @param alternative the name of the alternative or an empty {@link String}.
+     */
+    private Series(String year, String day, int part, String alternative) {
+      this.year = year;
+      this.day = day;
+      this.part = part;
+      this.alternative = alternative;
+    }
+
+    /**
+     * Counts a solved part.
+     *
+     * @param status the {@link base.Status} of the part.
+     * @param nanoTime the run time in nano seconds, or -1 if the part wasn't timed.
+     */
+    private void add(Status status, long nanoTime) {
+      this.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+      if (nanoTime < 0) {
+        return;
+      }
+      int bucket = 0;
+      while (bucket < BOUNDS.length && nanoTime > BOUNDS[bucket]) {
+        bucket++;
+      }
+      this.buckets.incrementAndGet(bucket);
+      this.nanoTime.add(nanoTime);
+      this.maxNanoTime.accumulate(nanoTime);
+    }
+
+    /**
+     * Returns the number of solved parts.
+     *
+     * @return the number of solved parts.
+     */
+    private long count() {
+      return this.statuses.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Returns the number of parts that didn't get a result.
+     *
+     * @return the number of parts not {@link base.Status#NORMAL_LONG} or {@link base.Status#ASCII}.
+     */
+    private long failures() {
+      return this.statuses.entrySet().stream()
+                          .filter(entry -> entry.getKey() != Status.NORMAL_LONG && entry.getKey() != Status.ASCII)
+                          .mapToLong(entry -> entry.getValue().sum())
+                          .sum();
+    }
+
+    /**
+     * Returns the mean run time of the timed parts.
+     *
+     * @return the mean run time in nano seconds, or 0 if none was timed.
+     */
+    private long meanNanoTime() {
+      long timed = 0;
+      for (int i = 0; i < this.buckets.length(); i++) {
+        timed += this.buckets.get(i);
+      }
+      return timed == 0 ? 0 : this.nanoTime.sum() / timed;
+    }
+
+    /**
+     * Returns the key of the series.
+     *
+     * @return the key, like "2021 Day1 part 1".
+     */
+    private String key() {
+      return SolverMetrics.key(this.year, this.day, this.part, this.alternative);
+    }
+
+    /**
+     * Returns the Prometheus labels of the series.
+     *
+     * @return the labels without braces.
+     */
+    private String labels() {
+      return "year=\"" + escape(this.year) + "\",day=\"" + escape(this.day)
+             + "\",part=\"" + this.part + "\",alternative=\"" + escape(this.alternative) + "\"";
+    }
+  }
+
+}
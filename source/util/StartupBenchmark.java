@@ -0,0 +1,133 @@
+package util;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the time to the first result of a new JVM, with and without a class data sharing archive.
+ *
+ * <p> Starts a JVM running a day with <code>-fmt json</code> and measures the time until
+ * its first record is printed. The JVMs use the same java and class path as this JVM.
+ * Runs with and without the archive take turns, after one run of each that isn't measured.
+ *
+ * <p> The archive is created by the Maven profile <code>cds</code> or the Gradle task
+ * <code>cdsArchive</code>. It can only be used with the same class path it was created with:
+ * <pre>    java -cp target/advent-of-code-1.0.jar util.StartupBenchmark target/advent-of-code-1.0.jsa 10</pre>
+ *
+ * <p> Example of print:
+ * <pre>Startup Year2021.Day1 - without archive:   min    98123 micro,   median   102345 micro
+ *Startup Year2021.Day1 -    with archive:   min    61234 micro,   median    63456 micro</pre>
+ *
+ * @author  GraysColour
+ * @version 1.0
+ * @since   1.0
+ */
+
+public class StartupBenchmark {
+
+  /**
+   * @hidden
+   */
+  private StartupBenchmark() {}
+
+
+  /**
+   * Measures the time to the first result.
+   *
+   * @param args the archive, optionally followed by the number of runs (default 5)
+   * and the day to run (default "Year2021.Day1").
+   * @throws IOException if a JVM cannot be started.
+   * @throws InterruptedException if interrupted while waiting for a JVM.
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    if (args.length < 1 || args.length > 3) {
+      System.out.println("Usage:  java -cp <JAR> util.StartupBenchmark <ARCHIVE> [<RUNS>] [<YEAR.DAY>]");
+      System.exit(-1);
+    }
+
+    Path archive = Path.of(args[0]);
+    int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    String day = args.length > 2 ? args[2] : "Year2021.Day1";
+    if (runs < 1) {
+      System.out.println("Cannot measure " + runs + " runs");
+      System.exit(-1);
+    }
+
+    if (!Files.exists(archive)) {
+      System.out.println("Archive " + archive + " does not exist");
+      System.exit(-1);
+    }
+    List<String> archiveFlags = List.of("-XX:SharedArchiveFile=" + archive, "-Xshare:on");
+    if (firstResult(day, archiveFlags) < 0) {
+      System.out.println("Archive " + archive + " cannot be used with this java and class path");
+      System.exit(-1);
+    }
+    firstResult(day, List.of());  // the other run that isn't measured
+
+    long[] without = new long[runs];
+    long[] with = new long[runs];
+    for (int i = 0; i < runs; i++) {
+      without[i] = firstResult(day, List.of());
+      with[i] = firstResult(day, archiveFlags);
+    }
+
+    print(day, "without archive", without);
+    print(day, "with archive", with);
+  }
+
+
+  /**
+   * Starts a JVM running a day and measures the time until its first record.
+   *
+   * @param day the day to run, like "Year2021.Day1".
+   * @param jvmFlags the flags of the JVM.
+   * @throws IOException if the JVM cannot be started.
+   * @throws InterruptedException if interrupted while waiting for the JVM.
+   * @return nano seconds to the first record, or -1 if the JVM failed.
+   */
+  private static long firstResult(String day, List<String> jvmFlags) throws IOException, InterruptedException {
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(jvmFlags);
+    command.addAll(List.of("-cp", System.getProperty("java.class.path"), day, "-fmt", "json"));
+
+    long startTime = System.nanoTime();
+    long nanoTime = -1;
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    try (BufferedReader out = new BufferedReader(
+                                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = out.readLine()) != null) {
+        if (nanoTime < 0 && line.startsWith("{")) {
+          nanoTime = System.nanoTime() - startTime;
+        }
+      }
+    }
+    return process.waitFor() == 0 ? nanoTime : -1;
+  }
+
+  /**
+   * Prints the minimum and median of the measured times.
+   *
+   * @param day the day that was run.
+   * @param name the name of the runs, like "with archive".
+   * @param nanoTimes the measured nano seconds.
+   */
+  private static void print(String day, String name, long[] nanoTimes) {
+    long[] sorted = nanoTimes.clone();
+    Arrays.sort(sorted);
+    System.out.printf("Startup %s - %15s:   min %8d micro,   median %8d micro%n",
+                      day,
+                      name,
+                      sorted[0] / 1000,
+                      sorted[sorted.length / 2] / 1000);
+  }
+
+}
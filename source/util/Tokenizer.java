@@ -0,0 +1,270 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Reads signed integers out of an input in a single scan.
+ *
+ * <p> Meant to replace splitting the input with <code>split(..)</code>
+ * and calling <code>Integer.parseInt(..)</code> on every token.
+ * No {@link String} is created per number. The numbers are collected into
+ * a growing primitive array of the returned type that is trimmed to size when returned.
+ *
+ * <p> Without separators, every character that isn't a digit separates numbers.
+ * A '-' directly in front of a digit is a sign, unless it's preceded by a digit.
+ * <br> For example <code>"on x=-5..47,y=3..-1"</code> gives
+ * <pre>    [-5, 47, 3, -1]</pre>
+ * and <code>"0,9 -&gt; 5,9"</code> gives
+ * <pre>    [0, 9, 5, 9]</pre>
+ *
+ * <p> With separators, only the given characters separate numbers.
+ * Any other character that isn't a digit or a leading '-' causes a
+ * {@link NumberFormatException}, just like <code>Integer.parseInt(..)</code>.
+ * Repeated separators are treated as one, like splitting on <code>"\\s+"</code>.
+ *
+ * <p> Overflow is not checked.
+ *
+ * @author  GraysColour
+ * @version 1.0
+ * @since   1.0
+ */
+
+public class Tokenizer {
+
+  /**
+   * The initial size of the returned arrays before they grow.
+   */
+  private static final int INITIAL_SIZE = 64;
+
+  /**
+   * @hidden
+   */
+  private Tokenizer() {}
+
+
+  /**
+   * Reads all signed <code>int</code> values of a {@link CharSequence}.
+   *
+   * <p> Every character that isn't a digit separates numbers.
+   *
+   * @param input the text to read.
+   * @return the <code>int</code> values in the order they appear.
+   */
+  public static int[] ints(CharSequence input) {
+    IntValues values = new IntValues();
+    scan(input.length(), i -> input.charAt(i), null, values);
+    return values.toArray();
+  }
+
+  /**
+   * Reads all signed <code>int</code> values of a {@link CharSequence}
+   * separated by any of the given characters.
+   *
+   * @param input the text to read.
+   * @param separators the characters that separate numbers, like <code>",\n\r"</code>.
+   * @throws NumberFormatException if any other character than a digit,
+   * a separator or a leading '-' is found.
+   * @return the <code>int</code> values in the order they appear.
+   */
+  public static int[] ints(CharSequence input, String separators) {
+    IntValues values = new IntValues();
+    scan(input.length(), i -> input.charAt(i), separators, values);
+    return values.toArray();
+  }
+
+  /**
+   * Reads all signed <code>int</code> values of ASCII encoded bytes.
+   *
+   * <p> Every byte that isn't a digit separates numbers.
+   *
+   * @param input the bytes to read.
+   * @return the <code>int</code> values in the order they appear.
+   */
+  public static int[] ints(byte[] input) {
+    IntValues values = new IntValues();
+    scan(input.length, i -> (char) input[i], null, values);
+    return values.toArray();
+  }
+
+  /**
+   * Reads all signed <code>long</code> values of a {@link CharSequence}.
+   *
+   * <p> Every character that isn't a digit separates numbers.
+   *
+   * @param input the text to read.
+   * @return the <code>long</code> values in the order they appear.
+   */
+  public static long[] longs(CharSequence input) {
+    LongValues values = new LongValues();
+    scan(input.length(), i -> input.charAt(i), null, values);
+    return values.toArray();
+  }
+
+  /**
+   * Reads all signed <code>long</code> values of a {@link CharSequence}
+   * separated by any of the given characters.
+   *
+   * @param input the text to read.
+   * @param separators the characters that separate numbers, like <code>",\n\r"</code>.
+   * @throws NumberFormatException if any other character than a digit,
+   * a separator or a leading '-' is found.
+   * @return the <code>long</code> values in the order they appear.
+   */
+  public static long[] longs(CharSequence input, String separators) {
+    LongValues values = new LongValues();
+    scan(input.length(), i -> input.charAt(i), separators, values);
+    return values.toArray();
+  }
+
+  /**
+   * Reads all signed <code>long</code> values of ASCII encoded bytes.
+   *
+   * <p> Every byte that isn't a digit separates numbers.
+   *
+   * @param input the bytes to read.
+   * @return the <code>long</code> values in the order they appear.
+   */
+  public static long[] longs(byte[] input) {
+    LongValues values = new LongValues();
+    scan(input.length, i -> (char) input[i], null, values);
+    return values.toArray();
+  }
+
+
+  /**
+   * Gets the character at an index. Lets the same scan read both text and bytes.
+   */
+  @FunctionalInterface
+  private interface CharAt {
+    /**
+     * @param index the index of the character.
+     * @return the character at the index.
+     */
+    char at(int index);
+  }
+
+  /**
+   * Collects the numbers of a scan.
+   */
+  private interface Values {
+    /**
+     * @param value the next number of the input.
+     */
+    void add(long value);
+  }
+
+  /**
+   * Collects the numbers of a scan as <code>int</code> values.
+   */
+  private static class IntValues implements Values {
+
+    /**
+     * The collected values, grown when full.
+     */
+    private int[] values = new int[INITIAL_SIZE];
+
+    /**
+     * The number of collected values.
+     */
+    private int count = 0;
+
+    @Override
+    public void add(long value) {
+      if (this.count == this.values.length) {
+        this.values = Arrays.copyOf(this.values, this.count * 2);
+      }
+      this.values[this.count++] = (int) value;
+    }
+
+    /**
+     * @return the collected values, trimmed to size.
+     */
+    int[] toArray() {
+      return Arrays.copyOf(this.values, this.count);
+    }
+  }
+
+  /**
+   * Collects the numbers of a scan as <code>long</code> values.
+   */
+  private static class LongValues implements Values {
+
+    /**
+     * The collected values, grown when full.
+     */
+    private long[] values = new long[INITIAL_SIZE];
+
+    /**
+     * The number of collected values.
+     */
+    private int count = 0;
+
+    @Override
+    public void add(long value) {
+      if (this.count == this.values.length) {
+        this.values = Arrays.copyOf(this.values, this.count * 2);
+      }
+      this.values[this.count++] = value;
+    }
+
+    /**
+     * @return the collected values, trimmed to size.
+     */
+    long[] toArray() {
+      return Arrays.copyOf(this.values, this.count);
+    }
+  }
+
+  /**
+   * Scans the input once and collects the numbers.
+   *
+   * @param length the length of the input.
+   * @param input gets the character at an index of the input.
+   * @param separators the separating characters or
+   * <code>null</code> to separate on anything that isn't a digit.
+   * @param values collects the numbers in the order they appear.
+   * @throws NumberFormatException if there are separators and an
+   * unexpected character is found.
+   */
+  private static void scan(int length, CharAt input, String separators, Values values) {
+    long value = 0;
+    boolean inNumber = false;
+    boolean negative = false;
+
+    for (int i = 0; i <= length; i++) {
+      char c = i < length ? input.at(i) : '\n';
+
+      if (c >= '0' && c <= '9') {
+        value = value * 10 + (c - '0');
+        inNumber = true;
+        continue;
+      }
+
+      if (inNumber) {
+        values.add(negative ? -value : value);
+        value = 0;
+        inNumber = false;
+        negative = false;
+      } else if (negative && separators != null) {
+        throw new NumberFormatException("A '-' without digits at index " + (i - 1));
+      }
+
+      if (i == length) {
+        break;
+      }
+
+      boolean nextIsDigit = i + 1 < length && input.at(i + 1) >= '0' && input.at(i + 1) <= '9';
+      boolean previousIsDigit = i > 0 && input.at(i - 1) >= '0' && input.at(i - 1) <= '9';
+
+      if (c == '-' && (separators == null ? nextIsDigit && !previousIsDigit : !previousIsDigit)) {
+        negative = true;
+      } else {
+        negative = false;
+        if (separators != null && separators.indexOf(c) < 0) {
+          throw new NumberFormatException("Unexpected '" + c + "' at index " + i);
+        }
+      }
+    }
+  }
+
+}